@@ -0,0 +1,16 @@
+package luvs.bench;
+
+import luvs.CssClass;
+
+/**
+ * Class names used by the synthetic corpus.
+ */
+public enum BenchClass implements CssClass {
+    page, page_header, page_footer, navigation, navigation_item,
+    card, card_header, card_body, card_footer, card_title,
+    button, button_primary, button_secondary, icon, badge,
+    list, list_item, table_row, table_cell, modal,
+    modal_header, modal_body, tooltip, dropdown, dropdown_item,
+    form_group, form_label, form_input, alert, alert_icon,
+    grid, grid_column
+}
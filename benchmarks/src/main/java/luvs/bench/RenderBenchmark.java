@@ -0,0 +1,63 @@
+package luvs.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import luvs.CssRules;
+import luvs.RenderOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole-stylesheet rendering: N rules x M properties.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"100", "2000"})
+    public int rules;
+
+    @Param({"4", "16"})
+    public int properties;
+
+    private CssRules stylesheet;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setup() {
+        stylesheet = StylesheetCorpus.stylesheet(rules, properties, 4, 42);
+        buffer = new StringBuilder(1 << 20);
+    }
+
+    @Benchmark
+    public String delegatedCharSeqVal() {
+        return stylesheet.delegatedCharSeqVal();
+    }
+
+    @Benchmark
+    public int renderPrettyToBuffer() throws IOException {
+        buffer.setLength(0);
+        stylesheet.renderTo(buffer, RenderOptions.PRETTY);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public int renderCompactToBuffer() throws IOException {
+        buffer.setLength(0);
+        stylesheet.renderTo(buffer, RenderOptions.COMPACT);
+        return buffer.length();
+    }
+}
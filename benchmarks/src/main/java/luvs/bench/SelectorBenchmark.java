@@ -0,0 +1,48 @@
+package luvs.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import luvs.Selector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Selector chaining and build() for shallow and deep chains.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SelectorBenchmark {
+
+    @Param({"3", "16", "64"})
+    public int depth;
+
+    private long seed;
+
+    @Setup
+    public void setup() {
+        seed = 7;
+    }
+
+    @Benchmark
+    public Selector chain() {
+        return StylesheetCorpus.deepSelector(depth, new Random(seed));
+    }
+
+    @Benchmark
+    public String chainAndBuild() {
+        return StylesheetCorpus.deepSelector(depth, new Random(seed)).build();
+    }
+}
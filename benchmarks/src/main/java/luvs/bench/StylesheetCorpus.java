@@ -0,0 +1,108 @@
+package luvs.bench;
+
+import static luvs.P.*;
+import static luvs.V.*;
+
+import java.util.Random;
+import luvs.CssProperty;
+import luvs.CssRules;
+import luvs.HtmlTag;
+import luvs.Keyframes;
+import luvs.Selector;
+import luvs.values.Color;
+import luvs.values.Filter;
+import luvs.values.Transform;
+
+/**
+ * Synthetic, reproducible stylesheets for the benchmarks.
+ * The same seed always yields the same corpus, so numbers stay comparable across runs.
+ */
+public final class StylesheetCorpus {
+
+    private static final BenchClass[] CLASSES = BenchClass.values();
+    private static final HtmlTag[] TAGS = HtmlTag.values();
+    private static final Color[] COLORS = Color.values();
+
+    private StylesheetCorpus() {} // Utility class
+
+    /**
+     * N rules with M properties each, selectors up to selectorDepth parts deep.
+     * One keyframes block is added for every 50 rules.
+     */
+    public static CssRules stylesheet(int rules, int propertiesPerRule, int selectorDepth, long seed) {
+        Random random = new Random(seed);
+        Object[] items = new Object[rules + rules / 50];
+        int i = 0;
+        for (int r = 0; r < rules; r++) {
+            items[i++] = deepSelector(selectorDepth, random).rule(properties(propertiesPerRule, random));
+            if (r % 50 == 49) {
+                items[i++] = keyframes("anim" + r, random);
+            }
+        }
+        return CssRules.rules(items);
+    }
+
+    /**
+     * A selector alternating child and descendant combinators over classes and tags.
+     */
+    public static Selector deepSelector(int depth, Random random) {
+        Selector selector = CLASSES[random.nextInt(CLASSES.length)].asSelector();
+        for (int d = 1; d < depth; d++) {
+            switch (random.nextInt(4)) {
+                case 0 -> selector = selector.child(TAGS[random.nextInt(TAGS.length)]);
+                case 1 -> selector = selector.descendant(CLASSES[random.nextInt(CLASSES.length)]);
+                case 2 -> selector = selector.adjacent(TAGS[random.nextInt(TAGS.length)]);
+                default -> selector = selector.descendant(CLASSES[random.nextInt(CLASSES.length)]).hover();
+            }
+        }
+        return selector;
+    }
+
+    public static CssProperty[] properties(int count, Random random) {
+        CssProperty[] properties = new CssProperty[count];
+        for (int p = 0; p < count; p++) {
+            properties[p] = switch (p % 8) {
+                case 0 -> color(COLORS[random.nextInt(COLORS.length)]);
+                case 1 -> margin(px(random.nextInt(64)), px(random.nextInt(64)));
+                case 2 -> padding(rem(random.nextInt(8) * 0.25));
+                case 3 -> width(percent(100).minus(px(random.nextInt(200))));
+                case 4 -> transform(transformChain(4, random));
+                case 5 -> filter(filterChain(3, random));
+                case 6 -> display(FLEX);
+                default -> font_size(em(1 + random.nextInt(10) / 10.0));
+            };
+        }
+        return properties;
+    }
+
+    public static Transform transformChain(int length, Random random) {
+        Transform transform = rotate(deg(random.nextInt(360)));
+        for (int i = 1; i < length; i++) {
+            switch (i % 3) {
+                case 0 -> transform = transform.rotate(deg(random.nextDouble() * 360));
+                case 1 -> transform = transform.scale(0.5 + random.nextDouble());
+                default -> transform = transform.translateX(px(random.nextInt(100)));
+            }
+        }
+        return transform;
+    }
+
+    public static Filter filterChain(int length, Random random) {
+        Filter filter = blur(px(random.nextInt(10)));
+        for (int i = 1; i < length; i++) {
+            switch (i % 3) {
+                case 0 -> filter = filter.blur(px(random.nextDouble() * 4));
+                case 1 -> filter = filter.brightness(0.5 + random.nextDouble());
+                default -> filter = filter.contrast(random.nextDouble());
+            }
+        }
+        return filter;
+    }
+
+    private static Keyframes keyframes(String name, Random random) {
+        return Keyframes.keyframes(name,
+            Keyframes.from(transform(transformChain(2, random)), opacity("0")),
+            Keyframes.frame("50%", transform(transformChain(3, random))),
+            Keyframes.to(transform(transformChain(2, random)), opacity("1")));
+    }
+}
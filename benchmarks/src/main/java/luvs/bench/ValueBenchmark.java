@@ -0,0 +1,62 @@
+package luvs.bench;
+
+import static luvs.V.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import luvs.values.CssUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Value formatting (CssUnit) and Transform/Filter chaining.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValueBenchmark {
+
+    @Param({"4", "64"})
+    public int chainLength;
+
+    private int intValue = 16;
+    private double doubleValue = 1.375;
+
+    @Benchmark
+    public String formatIntPx() {
+        CssUnit unit = px(intValue);
+        return unit.delegatedCharSeqVal();
+    }
+
+    @Benchmark
+    public String formatDoubleRem() {
+        CssUnit unit = rem(doubleValue);
+        return unit.delegatedCharSeqVal();
+    }
+
+    @Benchmark
+    public String formatCalc() {
+        return percent(100).minus(px(intValue)).delegatedCharSeqVal();
+    }
+
+    @Benchmark
+    public String transformChain() {
+        return StylesheetCorpus.transformChain(chainLength, new Random(3)).delegatedCharSeqVal();
+    }
+
+    @Benchmark
+    public String filterChain() {
+        return StylesheetCorpus.filterChain(chainLength, new Random(3)).delegatedCharSeqVal();
+    }
+}
@@ -0,0 +1,138 @@
+package luvs;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Atomic CSS: every distinct declaration (optionally scoped by a pseudo-class) becomes
+ * one generated single-purpose class, shared by all components that use it. The
+ * stylesheet grows with the number of distinct declarations, not of components.
+ *
+ * Components ask for their class attribute; the stylesheet is rendered after all
+ * components registered their declarations (typically at startup).
+ *
+ * Usage:
+ * <pre>
+ * static final AtomicCss ATOMS = new AtomicCss();
+ * String card = ATOMS.classes(display(FLEX), padding(px(8)));          // "_0 _1"
+ * String cardHover = ATOMS.classes(":hover", color(BLUE));               // "_2"
+ * head.style(ATOMS.stylesheet());
+ * </pre>
+ *
+ * Thread-safe. Each class carries a single declaration, so when two atoms set the same
+ * property the later atom in the stylesheet wins, not the later one in a component's
+ * list. The stylesheet is therefore layered: shorthands come before the longhands they
+ * set (padding before padding-top, border before border-top before border-top-width),
+ * whatever order they were registered in, and classes() drops declarations overridden
+ * within the same call. Declarations that still overlap at the same depth (border-top
+ * with border-width, or a fallback pair such as width: 90%; width: min(...)) would
+ * resolve in whatever order their atoms happened to be created, so classes() rejects
+ * them: keep such blocks as regular rules.
+ *
+ * Scopes are pseudo-classes only: the stylesheet model has no @media blocks.
+ */
+public final class AtomicCss {
+
+    private final String prefix;
+    private final ConcurrentHashMap<String, Atom> atoms = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile CssRules stylesheet; // snapshot, rebuilt when atoms were added
+
+    public AtomicCss() {
+        this("_");
+    }
+
+    /**
+     * Generated class names are prefix + a base-36 counter; the prefix keeps them apart
+     * from hand-written and CssClassNames-mangled classes.
+     */
+    public AtomicCss(String prefix) {
+        this.prefix = Objects.requireNonNull(prefix, "Prefix cannot be null");
+    }
+
+    /**
+     * The class attribute value for the given declarations.
+     */
+    public String classes(CssProperty... properties) {
+        return classes("", properties);
+    }
+
+    /**
+     * The class attribute value for declarations that apply in a pseudo-class scope,
+     * e.g. ":hover" or ":focus-visible".
+     *
+     * @throws IllegalArgumentException if two declarations overlap at the same shorthand depth
+     */
+    public String classes(String scope, CssProperty... properties) {
+        Objects.requireNonNull(scope, "Scope cannot be null");
+        CssProperty[] effective = CssOptimizer.optimizeDeclarations(properties);
+        for (int i = 0; i < effective.length; i++) {
+            for (int j = i + 1; j < effective.length; j++) {
+                if (CssOptimizer.shorthandDepth(effective[i]) == CssOptimizer.shorthandDepth(effective[j])
+                        && CssOptimizer.overlaps(effective[i], effective[j])) {
+                    throw new IllegalArgumentException("Cannot atomize " + effective[i].getName() + " with "
+                            + effective[j].getName() + ": their atoms would not keep this order");
+                }
+            }
+        }
+        StringBuilder sb = new StringBuilder(effective.length * (prefix.length() + 3));
+        for (CssProperty property : effective) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(atom(scope, property).className);
+        }
+        return sb.toString();
+    }
+
+    private Atom atom(String scope, CssProperty property) {
+        String key = scope + '\u0000' + property.delegatedCharSeqVal();
+        Atom atom = atoms.get(key);
+        if (atom == null) {
+            atom = atoms.computeIfAbsent(key, k -> new Atom(next.getAndIncrement(), scope, property));
+        }
+        return atom;
+    }
+
+    /**
+     * Number of distinct declarations registered so far.
+     */
+    public int size() {
+        return atoms.size();
+    }
+
+    /**
+     * One rule per atom: layered by shorthand depth, in creation order within a layer.
+     */
+    public CssRules stylesheet() {
+        CssRules result = stylesheet;
+        if (result == null || result.rules().length != atoms.size()) {
+            Atom[] sorted = atoms.values().toArray(new Atom[0]);
+            Arrays.sort(sorted, (x, y) -> x.depth != y.depth ? Integer.compare(x.depth, y.depth)
+                    : Integer.compare(x.index, y.index));
+            CssRule[] rules = new CssRule[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                rules[i] = sorted[i].rule;
+            }
+            result = new CssRules(rules, new Keyframes[0]);
+            stylesheet = result;
+        }
+        return result;
+    }
+
+    private final class Atom {
+        final int index;
+        final int depth;
+        final String className;
+        final CssRule rule;
+
+        Atom(int index, String scope, CssProperty property) {
+            this.index = index;
+            this.depth = CssOptimizer.shorthandDepth(property);
+            this.className = prefix + Integer.toString(index, 36);
+            this.rule = new CssRule("." + className + scope, property);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package luvs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A stylesheet rendered once into UTF-8 bytes, with gzip and deflate variants compressed
+ * in the background. Build it at startup (or on first use) and serve the bytes as-is:
+ * the buffers are read-only, and every accessor returns an independent duplicate, so
+ * they can be written straight into responses from many threads.
+ *
+ * Usage:
+ * <pre>
+ * static final CompressedStylesheet SITE = CompressedStylesheet.of(styles);
+ * ...
+ * channel.write(acceptsGzip ? SITE.gzip().join() : SITE.utf8());
+ * // or, never waiting for compression:
+ * CompressedStylesheet.Encoded body = SITE.gzipOrUtf8();
+ * if (body.contentEncoding() != null) response.setHeader("Content-Encoding", body.contentEncoding());
+ * channel.write(body.bytes());
+ * </pre>
+ */
+public final class CompressedStylesheet {
+
+    private final ByteBuffer utf8;
+    private final CompletableFuture<ByteBuffer> gzip;
+    private final CompletableFuture<ByteBuffer> deflate;
+
+    private CompressedStylesheet(byte[] bytes, int level, Executor executor) {
+        this.utf8 = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+        this.gzip = CompletableFuture.supplyAsync(() -> readOnly(gzip(bytes, level)), executor);
+        this.deflate = CompletableFuture.supplyAsync(() -> readOnly(deflate(bytes, level)), executor);
+    }
+
+    /**
+     * Compact rendering, best compression, on the common pool.
+     */
+    public static CompressedStylesheet of(CssRules rules) {
+        return of(rules, RenderOptions.COMPACT, Deflater.BEST_COMPRESSION, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Renders the rules now and schedules compression at the given java.util.zip level
+     * (0-9, or Deflater.DEFAULT_COMPRESSION) on the executor.
+     */
+    public static CompressedStylesheet of(CssRules rules, RenderOptions options, int level, Executor executor) {
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        return new CompressedStylesheet(rules.utf8Bytes(options), level, executor);
+    }
+
+    public ByteBuffer utf8() {
+        return utf8.duplicate();
+    }
+
+    /**
+     * gzip (Content-Encoding: gzip) bytes, completed once the background compression ends.
+     */
+    public CompletableFuture<ByteBuffer> gzip() {
+        return gzip.thenApply(ByteBuffer::duplicate);
+    }
+
+    /**
+     * zlib-wrapped deflate (Content-Encoding: deflate) bytes.
+     */
+    public CompletableFuture<ByteBuffer> deflate() {
+        return deflate.thenApply(ByteBuffer::duplicate);
+    }
+
+    /**
+     * gzip bytes if compression has finished, otherwise (or if it failed) the uncompressed
+     * bytes, so a request never waits for compression. The result says which it is.
+     */
+    public Encoded gzipOrUtf8() {
+        if (isGzipReady()) {
+            return new Encoded(gzip.join().duplicate(), "gzip");
+        }
+        return new Encoded(utf8(), null);
+    }
+
+    public boolean isGzipReady() {
+        return gzip.isDone() && !gzip.isCompletedExceptionally();
+    }
+
+    /**
+     * Bytes to send together with their Content-Encoding.
+     */
+    public static final class Encoded {
+        private final ByteBuffer bytes;
+        private final String contentEncoding;
+
+        private Encoded(ByteBuffer bytes, String contentEncoding) {
+            this.bytes = bytes;
+            this.contentEncoding = contentEncoding;
+        }
+
+        public ByteBuffer bytes() {
+            return bytes;
+        }
+
+        /**
+         * The Content-Encoding header value, or null when the bytes are uncompressed UTF-8.
+         */
+        public String contentEncoding() {
+            return contentEncoding;
+        }
+    }
+
+    private static ByteBuffer readOnly(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    private static byte[] gzip(byte[] bytes, int level) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gz.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] bytes, int level) {
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -10,10 +10,11 @@ import luvx.NamedEnumCharSeq;
 public interface CssClass extends NamedEnumCharSeq {
 
     /**
-     * Returns CSS class name (enum name).
+     * Returns CSS class name: the enum name, or its short name once the enum is
+     * registered with CssClassNames.mangle().
      */
     default String getClassName() {
-        return ((Enum<?>) this).name();
+        return CssClassNames.nameOf(this);
     }
 
     /**
@@ -46,7 +47,7 @@ public interface CssClass extends NamedEnumCharSeq {
      * Usage: center.____(color("red"), ...)
      */
     default CssRule ____(CssProperty... properties) {
-        return new CssRule(getSelector(), properties);
+        return new CssRule(asSelector(), properties);
     }
 
     /**
@@ -55,11 +56,7 @@ public interface CssClass extends NamedEnumCharSeq {
      * Usage: center.child(div, highlight) for .center > div.highlight
      */
     default Selector child(CharSequence... childElements) {
-        CharSequence[] parts = new CharSequence[childElements.length + 2];
-        parts[0] = this;
-        parts[1] = ">";
-        System.arraycopy(childElements, 0, parts, 2, childElements.length);
-        return Selector.selector(parts);
+        return asSelector().child(childElements);
     }
 
     /**
@@ -87,49 +84,49 @@ public interface CssClass extends NamedEnumCharSeq {
      * Pseudo-class :hover
      */
     default Selector hover() {
-        return Selector.selector(getSelector() + ":hover");
+        return asSelector().hover();
     }
 
     /**
      * Pseudo-class :focus
      */
     default Selector focus() {
-        return Selector.selector(getSelector() + ":focus");
+        return asSelector().focus();
     }
 
     /**
      * Pseudo-class :active
      */
     default Selector active() {
-        return Selector.selector(getSelector() + ":active");
+        return asSelector().active();
     }
 
     /**
      * Pseudo-class :first-child
      */
     default Selector firstChild() {
-        return Selector.selector(getSelector() + ":first-child");
+        return asSelector().firstChild();
     }
 
     /**
      * Pseudo-class :last-child
      */
     default Selector lastChild() {
-        return Selector.selector(getSelector() + ":last-child");
+        return asSelector().lastChild();
     }
 
     /**
      * Pseudo-class :nth-child(n)
      */
     default Selector nthChild(CharSequence n) {
-        return Selector.selector(getSelector() + ":nth-child(" + n + ")");
+        return asSelector().nthChild(n);
     }
 
     /**
      * Pseudo-class :nth-of-type(n)
      */
     default Selector nthOfType(CharSequence n) {
-        return Selector.selector(getSelector() + ":nth-of-type(" + n + ")");
+        return asSelector().nthOfType(n);
     }
 
     /**
@@ -137,10 +134,7 @@ public interface CssClass extends NamedEnumCharSeq {
      * Auto-detects CssClass and adds dot prefix
      */
     default Selector not(CharSequence selector) {
-        if (selector instanceof CssClass) {
-            return Selector.selector(getSelector() + ":not(" + ((CssClass) selector).getSelector() + ")");
-        }
-        return Selector.selector(getSelector() + ":not(" + selector + ")");
+        return asSelector().not(selector);
     }
 
     // ========== Pseudo-elements ==========
@@ -149,41 +143,41 @@ public interface CssClass extends NamedEnumCharSeq {
      * Pseudo-element ::before
      */
     default Selector before() {
-        return Selector.selector(getSelector() + "::before");
+        return asSelector().before();
     }
 
     /**
      * Pseudo-element ::after
      */
     default Selector after() {
-        return Selector.selector(getSelector() + "::after");
+        return asSelector().after();
     }
 
     /**
      * Pseudo-element ::first-line
      */
     default Selector firstLine() {
-        return Selector.selector(getSelector() + "::first-line");
+        return asSelector().firstLine();
     }
 
     /**
      * Pseudo-element ::first-letter
      */
     default Selector firstLetter() {
-        return Selector.selector(getSelector() + "::first-letter");
+        return asSelector().firstLetter();
     }
 
     /**
      * Pseudo-element ::selection
      */
     default Selector selection() {
-        return Selector.selector(getSelector() + "::selection");
+        return asSelector().selection();
     }
 
     /**
      * Pseudo-element ::placeholder
      */
     default Selector placeholder() {
-        return Selector.selector(getSelector() + "::placeholder");
+        return asSelector().placeholder();
     }
 }
@@ -0,0 +1,220 @@
+package luvs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional production mode that replaces CssClass names with short generated identifiers
+ * (a, b, ..., z, aa, ab, ...), optionally prefixed. CssClass.getClassName() consults this
+ * registry, so the short names are used consistently by getSelector(),
+ * delegatedCharSeqVal() (HTML class attributes), Selector.build() and not().
+ *
+ * Names are assigned over all registered constants sorted by enum binary name, then
+ * constant name, so they do not depend on registration order or on the order of the
+ * constants in their enum. Enums registered with different prefixes are numbered
+ * separately. A prefix keeps the names apart from hand-written classes.
+ *
+ * Rendered text is memoized, so an enum's names are frozen once one of them has been
+ * handed out: mangle() and reset() throw IllegalStateException rather than change them.
+ * Other enums stay configurable. Register at startup.
+ *
+ * Usage:
+ * <pre>
+ * if (production) CssClassNames.mangle(Layout.class, Buttons.class, Cards.class);
+ * log.debug("class names: {}", CssClassNames.mapping());
+ * </pre>
+ */
+public final class CssClassNames {
+
+    // Copy-on-write, sorted by enum name: reads on the render path take no lock
+    private static volatile Map<Class<?>, Names> mangled = Collections.emptyMap();
+    // ".name" bytes of enums that are not mangled, for the byte renderer
+    private static final ClassValue<byte[][]> PLAIN_SELECTORS = new ClassValue<byte[][]>() {
+        @Override
+        protected byte[][] computeValue(Class<?> type) {
+            Object[] constants = type.getEnumConstants();
+            byte[][] result = new byte[constants.length][];
+            for (int i = 0; i < constants.length; i++) {
+                result[i] = Utf8Out.encode("." + ((Enum<?>) constants[i]).name());
+            }
+            return result;
+        }
+    };
+    // Per enum, whether one of its names was handed out
+    private static final ClassValue<Usage> USAGE = new ClassValue<Usage>() {
+        @Override
+        protected Usage computeValue(Class<?> type) {
+            return new Usage();
+        }
+    };
+
+    private CssClassNames() {
+    }
+
+    /**
+     * Assigns short names, without prefix, to every constant of the given CssClass enums.
+     */
+    @SafeVarargs
+    public static void mangle(Class<? extends CssClass>... types) {
+        mangle("", types);
+    }
+
+    /**
+     * Assigns short names starting with prefix to every constant of the given CssClass
+     * enums. A non-empty prefix must start with a letter, "_" or "-". Enums that are
+     * already registered keep their prefix; names are reassigned over all registered
+     * enums so that they stay in sorted order.
+     *
+     * @throws IllegalStateException if this changes a name that was already handed out
+     */
+    @SafeVarargs
+    public static synchronized void mangle(String prefix, Class<? extends CssClass>... types) {
+        if (!prefix.isEmpty() && !(Character.isLetter(prefix.charAt(0)) || prefix.charAt(0) == '_' || prefix.charAt(0) == '-')) {
+            throw new IllegalArgumentException("Prefix must start with a letter, '_' or '-': " + prefix);
+        }
+        Map<Class<?>, String> prefixes = new LinkedHashMap<>();
+        for (Map.Entry<Class<?>, Names> entry : mangled.entrySet()) {
+            prefixes.put(entry.getKey(), entry.getValue().prefix);
+        }
+        for (Class<? extends CssClass> type : types) {
+            if (type.getEnumConstants() == null) {
+                throw new IllegalArgumentException(type.getName() + " is not an enum");
+            }
+            prefixes.putIfAbsent(type, prefix);
+        }
+        Map<Class<?>, Names> assigned = assign(prefixes);
+        for (Map.Entry<Class<?>, Names> entry : assigned.entrySet()) {
+            Names before = mangled.get(entry.getKey());
+            if (before == null || !Arrays.equals(before.names, entry.getValue().names)) {
+                checkUnused(entry.getKey());
+            }
+        }
+        mangled = assigned;
+    }
+
+    /**
+     * Turns mangling off again; names revert to the enum constant names.
+     *
+     * @throws IllegalStateException if a mangled name was already handed out
+     */
+    public static synchronized void reset() {
+        for (Class<?> type : mangled.keySet()) {
+            checkUnused(type);
+        }
+        mangled = Collections.emptyMap();
+    }
+
+    private static void checkUnused(Class<?> type) {
+        if (USAGE.get(type).used) {
+            throw new IllegalStateException("Class names of " + type.getName()
+                    + " are already in use; mangle at startup, before rendering");
+        }
+    }
+
+    // Numbers the constants of each prefix in (enum binary name, constant name) order
+    private static Map<Class<?>, Names> assign(Map<Class<?>, String> prefixes) {
+        List<Class<?>> types = new ArrayList<>(prefixes.keySet());
+        types.sort(Comparator.comparing(Class::getName));
+        Map<String, List<Enum<?>>> byPrefix = new LinkedHashMap<>();
+        for (Class<?> type : types) {
+            Enum<?>[] constants = (Enum<?>[]) type.getEnumConstants();
+            Arrays.sort(constants, Comparator.comparing(Enum::name));
+            byPrefix.computeIfAbsent(prefixes.get(type), p -> new ArrayList<>()).addAll(Arrays.asList(constants));
+        }
+        Map<Class<?>, String[]> names = new LinkedHashMap<>();
+        for (Class<?> type : types) {
+            names.put(type, new String[type.getEnumConstants().length]);
+        }
+        for (Map.Entry<String, List<Enum<?>>> entry : byPrefix.entrySet()) {
+            List<Enum<?>> constants = entry.getValue();
+            for (int i = 0; i < constants.size(); i++) {
+                Enum<?> constant = constants.get(i);
+                names.get(constant.getDeclaringClass())[constant.ordinal()] = entry.getKey() + shortName(i);
+            }
+        }
+        Map<Class<?>, Names> result = new LinkedHashMap<>();
+        for (Class<?> type : types) {
+            result.put(type, new Names(prefixes.get(type), names.get(type)));
+        }
+        return result;
+    }
+
+    public static boolean isEnabled() {
+        return !mangled.isEmpty();
+    }
+
+    /**
+     * Mapping from short name to the original "binary.EnumName.constant", sorted by enum,
+     * for debugging and source maps.
+     */
+    public static Map<String, String> mapping() {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (Map.Entry<Class<?>, Names> entry : mangled.entrySet()) {
+            Object[] constants = entry.getKey().getEnumConstants();
+            String[] names = entry.getValue().names;
+            for (int i = 0; i < names.length; i++) {
+                result.put(names[i], entry.getKey().getName() + "." + ((Enum<?>) constants[i]).name());
+            }
+        }
+        return result;
+    }
+
+    static String nameOf(CssClass cssClass) {
+        Enum<?> constant = (Enum<?>) cssClass;
+        Class<?> type = constant.getDeclaringClass();
+        USAGE.get(type).markUsed();
+        Names names = mangled.get(type);
+        return names == null ? constant.name() : names.names[constant.ordinal()];
+    }
+
+    /**
+     * UTF-8 bytes of getSelector(), encoded once per constant.
+     */
+    static byte[] selectorBytes(CssClass cssClass) {
+        Enum<?> constant = (Enum<?>) cssClass;
+        Class<?> type = constant.getDeclaringClass();
+        USAGE.get(type).markUsed();
+        Names names = mangled.get(type);
+        byte[][] selectors = names == null ? PLAIN_SELECTORS.get(type) : names.selectors;
+        return selectors[constant.ordinal()];
+    }
+
+    // Bijective base 26: 0 -> a, 25 -> z, 26 -> aa
+    private static String shortName(int n) {
+        StringBuilder sb = new StringBuilder(4);
+        for (n++; n > 0; n = (n - 1) / 26) {
+            sb.append((char) ('a' + (n - 1) % 26));
+        }
+        return sb.reverse().toString();
+    }
+
+    private static final class Usage {
+        volatile boolean used;
+
+        void markUsed() {
+            if (!used) { // a volatile read on the render path, written once
+                used = true;
+            }
+        }
+    }
+
+    private static final class Names {
+        final String prefix;
+        final String[] names;
+        final byte[][] selectors;
+
+        Names(String prefix, String[] names) {
+            this.prefix = prefix;
+            this.names = names;
+            this.selectors = new byte[names.length][];
+            for (int i = 0; i < names.length; i++) {
+                selectors[i] = Utf8Out.encode("." + names[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package luvs;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in canonicalization of declarations: equal CssProperty instances, and equal
+ * declaration blocks (CssProperty[]), are replaced by one shared instance.
+ *
+ * Stylesheets built per tenant or per theme repeat the same declarations thousands of
+ * times; interning them keeps one copy on the heap and makes equal blocks pointer-equal,
+ * which equality checks and caches can test first. Properties are compared with
+ * CssProperty.equals(), structurally, so interning renders nothing.
+ *
+ * The tables hold their instances weakly, so interning never keeps a stylesheet alive,
+ * and are bounded: once full, new values are returned as they are until entries are
+ * collected. Thread-safe.
+ *
+ * Usage:
+ * <pre>
+ * static final CssInterner INTERNER = new CssInterner(100_000);
+ * CssRules shared = INTERNER.intern(tenantStyles);
+ * </pre>
+ */
+public final class CssInterner {
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<Key, Entry> properties = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Key, Entry> blocks = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    /**
+     * maxEntries bounds each of the property and block tables.
+     */
+    public CssInterner(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Table size must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public CssProperty intern(CssProperty property) {
+        return (CssProperty) intern(properties, property, property.hashCode());
+    }
+
+    /**
+     * The canonical block with these declarations, themselves interned. The result is
+     * shared: do not modify it.
+     */
+    public CssProperty[] intern(CssProperty[] block) {
+        CssProperty[] canonical = new CssProperty[block.length];
+        int hash = 1;
+        for (int i = 0; i < block.length; i++) {
+            canonical[i] = intern(block[i]);
+            hash = hash * 31 + System.identityHashCode(canonical[i]);
+        }
+        return (CssProperty[]) intern(blocks, canonical, hash);
+    }
+
+    /**
+     * The rule with its declaration block interned.
+     */
+    public CssRule intern(CssRule rule) {
+        CssProperty[] block = rule.properties();
+        CssProperty[] canonical = intern(block);
+        return canonical == block ? rule : new CssRule(rule.selector(), canonical);
+    }
+
+    /**
+     * The stylesheet with every rule's declaration block interned.
+     */
+    public CssRules intern(CssRules stylesheet) {
+        CssRule[] rules = stylesheet.rules();
+        CssRule[] interned = new CssRule[rules.length];
+        boolean changed = false;
+        for (int i = 0; i < rules.length; i++) {
+            interned[i] = intern(rules[i]);
+            changed |= interned[i] != rules[i];
+        }
+        return changed ? new CssRules(interned, stylesheet.keyframes()) : stylesheet;
+    }
+
+    /**
+     * Number of live canonical properties and blocks.
+     */
+    public int size() {
+        expunge();
+        return properties.size() + blocks.size();
+    }
+
+    private Object intern(ConcurrentHashMap<Key, Entry> table, Object value, int hash) {
+        expunge();
+        Probe probe = new Probe(value, hash);
+        Entry entry = table.get(probe);
+        Object canonical = entry == null ? null : entry.value();
+        if (canonical != null) {
+            return canonical;
+        }
+        if (table.size() >= maxEntries) {
+            return value;
+        }
+        Entry created = new Entry(value, hash, table, collected);
+        while (true) {
+            entry = table.putIfAbsent(created, created);
+            if (entry == null) {
+                return value;
+            }
+            canonical = entry.value();
+            if (canonical != null) {
+                return canonical;
+            }
+            table.remove(entry, entry); // collected but not yet expunged
+        }
+    }
+
+    private void expunge() {
+        for (Object polled; (polled = collected.poll()) != null; ) {
+            Ref ref = (Ref) polled;
+            ref.table.remove(ref.entry, ref.entry);
+        }
+    }
+
+    /**
+     * Table key: stored entries hold their value weakly, lookups (probes) strongly.
+     */
+    private abstract static class Key {
+        final int hash;
+
+        Key(int hash) {
+            this.hash = hash;
+        }
+
+        abstract Object value();
+
+        @Override
+        public final int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public final boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof Key) || ((Key) o).hash != hash) {
+                return false;
+            }
+            Object a = value();
+            Object b = ((Key) o).value();
+            return a != null && b != null && equivalent(a, b);
+        }
+
+        private static boolean equivalent(Object a, Object b) {
+            if (a instanceof CssProperty && b instanceof CssProperty) {
+                return a.equals(b);
+            }
+            if (a instanceof CssProperty[] && b instanceof CssProperty[]) {
+                CssProperty[] x = (CssProperty[]) a;
+                CssProperty[] y = (CssProperty[]) b;
+                if (x.length != y.length) {
+                    return false;
+                }
+                for (int i = 0; i < x.length; i++) {
+                    if (x[i] != y[i]) { // elements are interned first
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Probe extends Key {
+        private final Object value;
+
+        Probe(Object value, int hash) {
+            super(hash);
+            this.value = value;
+        }
+
+        @Override
+        Object value() {
+            return value;
+        }
+    }
+
+    private static final class Entry extends Key {
+        final Ref ref;
+
+        Entry(Object value, int hash, ConcurrentHashMap<Key, Entry> table, ReferenceQueue<Object> queue) {
+            super(hash);
+            this.ref = new Ref(value, this, table, queue);
+        }
+
+        @Override
+        Object value() {
+            return ref.get();
+        }
+    }
+
+    private static final class Ref extends WeakReference<Object> {
+        final Entry entry;
+        final ConcurrentHashMap<Key, Entry> table;
+
+        Ref(Object value, Entry entry, ConcurrentHashMap<Key, Entry> table, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.entry = entry;
+            this.table = table;
+        }
+    }
+}
@@ -0,0 +1,801 @@
+package luvs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stylesheet-level optimizations over CssRules.
+ *
+ * optimize() runs three passes, all preserving the cascade:
+ * <ol>
+ * <li>rules with the same selector are merged into the earlier one,</li>
+ * <li>inside each rule, overridden declarations are removed and complete sets of
+ *     longhands collapsed into their shorthand (see optimize(CssRule)),</li>
+ * <li>rules with byte-identical declaration blocks are grouped into one rule
+ *     with a comma-separated selector list.</li>
+ * </ol>
+ * Either move brings declarations earlier in the sheet, which is only safe when
+ * no rule in between declares a conflicting property (margin and margin-top,
+ * inset and top, font and line-height), as that rule could match the same element
+ * and would then win where it previously lost. Conflicts come from an explicit
+ * table of shorthands and the longhands they set; a property missing from it
+ * (all, vendor-prefixed or unknown names) is assumed to conflict with everything.
+ * Rules that fail this check stay where they are.
+ *
+ * Usage:
+ * <pre>
+ * CssRules small = CssOptimizer.optimize(styles);   // or styles.optimize()
+ * </pre>
+ */
+public final class CssOptimizer {
+
+    private CssOptimizer() {} // Utility class
+
+    public static CssRules optimize(CssRules stylesheet) {
+        List<Block> blocks = mergeSameSelectors(stylesheet.rules());
+        for (Block block : blocks) {
+            CssProperty[] properties = block.properties.toArray(new CssProperty[0]);
+            CssProperty[] optimized = optimizeDeclarations(properties);
+            if (optimized != properties) {
+                block.properties.clear();
+                block.properties.addAll(List.of(optimized));
+            }
+        }
+        blocks = groupIdenticalBlocks(blocks);
+        CssRule[] rules = new CssRule[blocks.size()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = blocks.get(i).toRule();
+        }
+        return new CssRules(rules, stylesheet.keyframes());
+    }
+
+    /**
+     * Removes declarations overridden later in the same rule (a repeated property, or
+     * a longhand followed by its shorthand) and collapses complete longhand sets into
+     * shorthands: margin, padding, inset, border-width/style/color/radius,
+     * border-top/right/bottom/left, gap, overflow and flex.
+     *
+     * Declarations that are likely deliberate fallbacks are kept: an earlier value
+     * shadowed by a function the browser may not support (width: 90%; width: min(...)),
+     * vendor-prefixed values, and anything involving !important.
+     */
+    public static CssRule optimize(CssRule rule) {
+        CssProperty[] properties = rule.properties();
+        CssProperty[] optimized = optimizeDeclarations(properties);
+        return optimized == properties ? rule : new CssRule(rule.selector(), optimized);
+    }
+
+    /**
+     * Returns the optimized declarations, or the same array when nothing changed.
+     */
+    static CssProperty[] optimizeDeclarations(CssProperty[] properties) {
+        if (properties.length < 2 || independent(properties)) {
+            return properties;
+        }
+        List<CssProperty> live = removeOverridden(properties);
+        for (Shorthand shorthand : Shorthand.ALL) {
+            shorthand.collapse(live);
+        }
+        return live.size() == properties.length ? properties : live.toArray(new CssProperty[0]);
+    }
+
+    /**
+     * True when every property is registered and no two of them share a conflict group,
+     * so none can override or collapse into another. Checked on ids, without Strings.
+     */
+    private static boolean independent(CssProperty[] properties) {
+        BitSet groups = new BitSet();
+        for (CssProperty property : properties) {
+            PropertyName name = property.propertyName();
+            if (name == null || name.group < 0 || groups.get(name.group)) {
+                return false;
+            }
+            groups.set(name.group);
+        }
+        return true;
+    }
+
+    private static List<CssProperty> removeOverridden(CssProperty[] properties) {
+        List<CssProperty> live = new ArrayList<>(properties.length);
+        for (int i = 0; i < properties.length; i++) {
+            if (!isOverridden(properties, i)) {
+                live.add(properties[i]);
+            }
+        }
+        return live;
+    }
+
+    private static boolean isOverridden(CssProperty[] properties, int index) {
+        CssProperty earlier = properties[index];
+        String name = normalizedName(earlier);
+        Shorthand shorthand = Shorthand.named(name);
+        int coveredLonghands = 0;
+        for (int j = index + 1; j < properties.length; j++) {
+            CssProperty later = properties[j];
+            String laterName = normalizedName(later);
+            boolean covers = laterName.equals(name) || Shorthand.covers(laterName, name);
+            if (covers && overrides(later, earlier)) {
+                return true;
+            }
+            if (shorthand != null && shorthand.hasLonghand(laterName) && overrides(later, earlier)) {
+                coveredLonghands++;
+            }
+        }
+        // A shorthand is dead once each of its longhands is set after it
+        return shorthand != null && coveredLonghands == shorthand.longhands.length
+                && shorthand.eachLonghandOnce(properties, index + 1);
+    }
+
+    private static boolean overrides(CssProperty later, CssProperty earlier) {
+        String laterValue = CssText.of(later.getValue());
+        String earlierValue = CssText.of(earlier.getValue());
+        if (isImportant(earlierValue) || isImportant(laterValue)) {
+            return false;
+        }
+        if (isVendorSpecific(earlierValue) || isVendorSpecific(laterValue)) {
+            return false;
+        }
+        // width: 90%; width: min(90%, 800px) is a fallback for browsers without min()
+        return !(laterValue.indexOf('(') >= 0 && earlierValue.indexOf('(') < 0);
+    }
+
+    private static boolean isImportant(String value) {
+        return value.contains("!important");
+    }
+
+    private static boolean isVendorSpecific(String value) {
+        return value.startsWith("-") && !value.startsWith("--") && value.length() > 1 && !Character.isDigit(value.charAt(1))
+                && value.charAt(1) != '.';
+    }
+
+    /**
+     * Property names compare case-insensitively, custom properties (--x) exactly.
+     */
+    private static String normalizedName(CssProperty property) {
+        if (property.propertyName() != null) {
+            return property.propertyName().css();
+        }
+        String name = property.getName();
+        return name.startsWith("--") ? name : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Block> mergeSameSelectors(CssRule[] rules) {
+        List<Block> out = new ArrayList<>(rules.length);
+        Map<String, Integer> bySelector = new HashMap<>();
+        Declared declared = new Declared();
+        for (CssRule rule : rules) {
+            String selector = CssText.of(rule.selector());
+            CssProperty[] properties = rule.properties();
+            Integer target = bySelector.get(selector);
+            if (target != null && declared.canMoveTo(target, properties)) {
+                out.get(target).properties.addAll(List.of(properties));
+                declared.add(target, properties);
+            } else {
+                int index = out.size();
+                out.add(new Block(rule, selector, properties));
+                bySelector.put(selector, index);
+                declared.add(index, properties);
+            }
+        }
+        return out;
+    }
+
+    private static List<Block> groupIdenticalBlocks(List<Block> blocks) {
+        List<Block> out = new ArrayList<>(blocks.size());
+        Map<String, Integer> byDeclarations = new HashMap<>();
+        Declared declared = new Declared();
+        for (Block block : blocks) {
+            CssProperty[] properties = block.properties.toArray(new CssProperty[0]);
+            String declarations = declarationsKey(properties);
+            Integer target = groupable(block.selector) ? byDeclarations.get(declarations) : null;
+            if (target != null && declared.canMoveTo(target, properties)) {
+                out.get(target).selectors.add(block.selector);
+                declared.add(target, properties);
+            } else {
+                int index = out.size();
+                out.add(block);
+                if (groupable(block.selector)) {
+                    byDeclarations.put(declarations, index);
+                }
+                declared.add(index, properties);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Conflict group of a property: properties that can override each other, directly
+     * or through a shorthand, share a group. -1 for properties outside the conflict
+     * table, which may conflict with any other.
+     */
+    static int conflictGroup(String name) {
+        Integer group = Conflicts.GROUPS.get(name);
+        return group != null ? group : -1;
+    }
+
+    /**
+     * How many shorthand levels set a property: 0 for margin, 1 for margin-top and
+     * margin-block, 2 for margin-block-start. 0 for properties outside the conflict table.
+     */
+    static int shorthandDepth(CssProperty property) {
+        Integer depth = Conflicts.DEPTHS.get(normalizedName(property));
+        return depth != null ? depth : 0;
+    }
+
+    /**
+     * True when both properties set the same property: equal names, a shorthand and a
+     * property it sets, or two shorthands sharing a longhand (border-top, border-width).
+     * Properties outside the conflict table only overlap themselves.
+     */
+    static boolean overlaps(CssProperty a, CssProperty b) {
+        String nameA = normalizedName(a);
+        String nameB = normalizedName(b);
+        if (nameA.equals(nameB)) {
+            return true;
+        }
+        Set<String> setA = Conflicts.SETS.getOrDefault(nameA, Set.of());
+        Set<String> setB = Conflicts.SETS.getOrDefault(nameB, Set.of());
+        return setA.contains(nameB) || setB.contains(nameA) || !Collections.disjoint(setA, setB);
+    }
+
+    /**
+     * True when declaring one property can change the value of the other.
+     * Custom properties (--x) only conflict with themselves.
+     */
+    private static boolean conflicts(String a, String b) {
+        if (a.startsWith("--") || b.startsWith("--")) {
+            return a.equals(b);
+        }
+        int groupA = conflictGroup(a);
+        int groupB = conflictGroup(b);
+        return groupA < 0 || groupB < 0 || groupA == groupB;
+    }
+
+    /**
+     * Where each conflict group was last declared while rules are being moved.
+     */
+    private static final class Declared {
+        final Map<Integer, Integer> lastByGroup = new HashMap<>();
+        final Map<String, Integer> lastByCustom = new HashMap<>();
+        int lastUnknown = -1; // last rule declaring a property outside the table
+        int lastAny = -1;
+
+        /**
+         * True when no rule after index declares a property conflicting with these.
+         */
+        boolean canMoveTo(int index, CssProperty[] properties) {
+            if (lastUnknown > index) {
+                return false;
+            }
+            for (CssProperty property : properties) {
+                String name = normalizedName(property);
+                Integer last;
+                if (name.startsWith("--")) {
+                    last = lastByCustom.get(name);
+                } else {
+                    int group = group(property, name);
+                    last = group < 0 ? Integer.valueOf(lastAny) : lastByGroup.get(group);
+                }
+                if (last != null && last > index) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void add(int index, CssProperty[] properties) {
+            for (CssProperty property : properties) {
+                String name = normalizedName(property);
+                if (name.startsWith("--")) {
+                    lastByCustom.merge(name, index, Math::max);
+                    continue;
+                }
+                lastAny = Math.max(lastAny, index);
+                int group = group(property, name);
+                if (group < 0) {
+                    lastUnknown = Math.max(lastUnknown, index);
+                } else {
+                    lastByGroup.merge(group, index, Math::max);
+                }
+            }
+        }
+
+        private static int group(CssProperty property, String name) {
+            PropertyName known = property.propertyName();
+            return known != null ? known.group : conflictGroup(name);
+        }
+    }
+
+    private static String declarationsKey(CssProperty[] properties) {
+        StringBuilder sb = new StringBuilder();
+        for (CssProperty property : properties) {
+            sb.append(property.getName()).append(':').append(CssText.of(property.getValue())).append(';');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Vendor-prefixed pseudo selectors invalidate a whole selector list in browsers
+     * that do not know them, so they are never grouped.
+     */
+    private static boolean groupable(String selector) {
+        return !selector.contains(":-") && !selector.isEmpty();
+    }
+
+    /**
+     * A rule under construction: its selector list and declarations.
+     */
+    private static final class Block {
+        final CssRule original;
+        final String selector;
+        final List<String> selectors = new ArrayList<>(1);
+        final List<CssProperty> properties;
+
+        Block(CssRule original, String selector, CssProperty[] properties) {
+            this.original = original;
+            this.selector = selector;
+            this.selectors.add(selector);
+            this.properties = new ArrayList<>(List.of(properties));
+        }
+
+        CssRule toRule() {
+            if (selectors.size() == 1 && unchanged()) {
+                return original;
+            }
+            CharSequence selector = selectors.size() == 1 ? original.selector() : String.join(", ", selectors);
+            return new CssRule(selector, properties.toArray(new CssProperty[0]));
+        }
+
+        // Merging and optimizing can replace declarations without changing their count
+        private boolean unchanged() {
+            CssProperty[] before = original.properties();
+            if (before.length != properties.size()) {
+                return false;
+            }
+            for (int i = 0; i < before.length; i++) {
+                if (before[i] != properties.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A shorthand that sets exactly its longhands, and how to collapse their values.
+     */
+    private static final class Shorthand {
+
+        private enum Shape { BOX, PAIR, LIST }
+
+        static final Shorthand[] ALL = {
+            box("margin", "margin-top", "margin-right", "margin-bottom", "margin-left"),
+            box("padding", "padding-top", "padding-right", "padding-bottom", "padding-left"),
+            box("inset", "top", "right", "bottom", "left"),
+            box("border-width", "border-top-width", "border-right-width", "border-bottom-width", "border-left-width"),
+            box("border-style", "border-top-style", "border-right-style", "border-bottom-style", "border-left-style"),
+            box("border-color", "border-top-color", "border-right-color", "border-bottom-color", "border-left-color"),
+            box("border-radius", "border-top-left-radius", "border-top-right-radius",
+                    "border-bottom-right-radius", "border-bottom-left-radius"),
+            list("border-top", "border-top-width", "border-top-style", "border-top-color"),
+            list("border-right", "border-right-width", "border-right-style", "border-right-color"),
+            list("border-bottom", "border-bottom-width", "border-bottom-style", "border-bottom-color"),
+            list("border-left", "border-left-width", "border-left-style", "border-left-color"),
+            new Shorthand("gap", Shape.PAIR, "row-gap", "column-gap"),
+            new Shorthand("overflow", Shape.PAIR, "overflow-x", "overflow-y"),
+            list("flex", "flex-grow", "flex-shrink", "flex-basis"),
+        };
+
+        // border also resets border-image, so it is never produced, only recognized as overriding
+        private static final String[] BORDER_LONGHANDS = {
+            "border-width", "border-style", "border-color", "border-top", "border-right", "border-bottom", "border-left",
+            "border-top-width", "border-right-width", "border-bottom-width", "border-left-width",
+            "border-top-style", "border-right-style", "border-bottom-style", "border-left-style",
+            "border-top-color", "border-right-color", "border-bottom-color", "border-left-color",
+        };
+
+        final String name;
+        final Shape shape;
+        final String[] longhands;
+
+        private Shorthand(String name, Shape shape, String... longhands) {
+            this.name = name;
+            this.shape = shape;
+            this.longhands = longhands;
+        }
+
+        private static Shorthand box(String name, String... longhands) {
+            return new Shorthand(name, Shape.BOX, longhands);
+        }
+
+        private static Shorthand list(String name, String... longhands) {
+            return new Shorthand(name, Shape.LIST, longhands);
+        }
+
+        static Shorthand named(String name) {
+            for (Shorthand shorthand : ALL) {
+                if (shorthand.name.equals(name)) {
+                    return shorthand;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * True when setting the shorthand property overrides the given property.
+         */
+        static boolean covers(String shorthandName, String name) {
+            if (shorthandName.equals("border")) {
+                for (String longhand : BORDER_LONGHANDS) {
+                    if (longhand.equals(name)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            Shorthand shorthand = named(shorthandName);
+            if (shorthand == null) {
+                return false;
+            }
+            if (shorthand.hasLonghand(name)) {
+                return true;
+            }
+            // border-width covers border-top-width, which border-top also sets
+            for (String longhand : shorthand.longhands) {
+                Shorthand nested = named(longhand);
+                if (nested != null && nested.hasLonghand(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean hasLonghand(String name) {
+            for (String longhand : longhands) {
+                if (longhand.equals(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean eachLonghandOnce(CssProperty[] properties, int from) {
+            for (String longhand : longhands) {
+                int count = 0;
+                for (int i = from; i < properties.length; i++) {
+                    if (normalizedName(properties[i]).equals(longhand)) {
+                        count++;
+                    }
+                }
+                if (count != 1) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Replaces the longhands by the shorthand, at the position of the first one,
+         * when each is present once, none is !important, multi-valued, a var() or a
+         * CSS-wide keyword (unless all hold the same keyword), and no other
+         * property conflicting with the shorthand sits in between.
+         */
+        void collapse(List<CssProperty> properties) {
+            int[] positions = new int[longhands.length];
+            String[] values = new String[longhands.length];
+            int first = Integer.MAX_VALUE;
+            int last = -1;
+            for (int l = 0; l < longhands.length; l++) {
+                positions[l] = -1;
+                for (int i = 0; i < properties.size(); i++) {
+                    if (normalizedName(properties.get(i)).equals(longhands[l])) {
+                        if (positions[l] >= 0) {
+                            return;
+                        }
+                        positions[l] = i;
+                    }
+                }
+                if (positions[l] < 0) {
+                    return;
+                }
+                values[l] = CssText.of(properties.get(positions[l]).getValue()).trim();
+                if (isImportant(values[l]) || hasTopLevelSpace(values[l])) {
+                    return;
+                }
+                first = Math.min(first, positions[l]);
+                last = Math.max(last, positions[l]);
+            }
+            String value = cssWideKeyword(values);
+            if (value == null) {
+                for (String v : values) {
+                    if (isCssWideKeyword(v) || v.contains("var(")) {
+                        return; // margin: inherit 0 0 is invalid, var() may expand to several values
+                    }
+                }
+                value = value(values);
+            }
+            for (int i = first + 1; i < last; i++) {
+                String other = normalizedName(properties.get(i));
+                if (!hasLonghand(other) && conflicts(other, name)) {
+                    return;
+                }
+            }
+            CssProperty collapsed = new CssProperty(name, value);
+            for (int i = last; i >= first; i--) {
+                if (hasLonghand(normalizedName(properties.get(i)))) {
+                    properties.remove(i);
+                }
+            }
+            properties.add(first, collapsed);
+        }
+
+        // The keyword when every longhand holds the same CSS-wide keyword, otherwise null
+        private static String cssWideKeyword(String[] values) {
+            if (!isCssWideKeyword(values[0])) {
+                return null;
+            }
+            for (String value : values) {
+                if (!value.equalsIgnoreCase(values[0])) {
+                    return null;
+                }
+            }
+            return values[0];
+        }
+
+        private static boolean isCssWideKeyword(String value) {
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "inherit": case "initial": case "unset": case "revert": case "revert-layer":
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private String value(String[] values) {
+            switch (shape) {
+                case BOX: {
+                    // top right bottom left, shortened the way CSS expands them back
+                    String top = values[0], right = values[1], bottom = values[2], left = values[3];
+                    if (!right.equals(left)) {
+                        return top + " " + right + " " + bottom + " " + left;
+                    }
+                    if (!top.equals(bottom)) {
+                        return top + " " + right + " " + bottom;
+                    }
+                    return top.equals(right) ? top : top + " " + right;
+                }
+                case PAIR:
+                    return values[0].equals(values[1]) ? values[0] : values[0] + " " + values[1];
+                default:
+                    return String.join(" ", values);
+            }
+        }
+
+        private static boolean hasTopLevelSpace(String value) {
+            int depth = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                } else if (Character.isWhitespace(c) && depth == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The conflict table: which properties can change each other's value. Every shorthand
+     * is grouped with the longhands it sets, transitively, so margin, margin-top and
+     * margin-inline-start share a group. Kept apart from PropertyName so that its
+     * constants can look their group up while the enum initializes.
+     */
+    private static final class Conflicts {
+
+        // Shorthands beyond Shorthand.ALL and border, each followed by what it sets
+        private static final String[][] OVERLAPS = {
+            {"margin", "margin-block", "margin-inline", "margin-block-start", "margin-block-end",
+                    "margin-inline-start", "margin-inline-end"},
+            {"padding", "padding-block", "padding-inline", "padding-block-start", "padding-block-end",
+                    "padding-inline-start", "padding-inline-end"},
+            {"inset", "inset-block", "inset-inline", "inset-block-start", "inset-block-end",
+                    "inset-inline-start", "inset-inline-end"},
+            {"border", "border-image", "border-image-source", "border-image-slice", "border-image-width",
+                    "border-image-outset", "border-image-repeat", "border-block", "border-inline",
+                    "border-block-start", "border-block-end", "border-inline-start", "border-inline-end",
+                    "border-block-width", "border-block-style", "border-block-color",
+                    "border-inline-width", "border-inline-style", "border-inline-color"},
+            {"border-radius", "border-start-start-radius", "border-start-end-radius",
+                    "border-end-start-radius", "border-end-end-radius"},
+            {"gap", "grid-gap", "grid-row-gap", "grid-column-gap"},
+            {"font", "font-style", "font-variant", "font-weight", "font-stretch", "font-size", "line-height",
+                    "font-family", "font-size-adjust", "font-kerning", "font-variant-caps",
+                    "font-variant-ligatures", "font-variant-numeric", "font-variant-east-asian",
+                    "font-variant-position", "font-variant-alternates", "font-feature-settings",
+                    "font-optical-sizing", "font-variation-settings", "font-language-override"},
+            {"place-items", "align-items", "justify-items"},
+            {"place-content", "align-content", "justify-content"},
+            {"place-self", "align-self", "justify-self"},
+            {"flex-flow", "flex-direction", "flex-wrap"},
+            {"columns", "column-width", "column-count"},
+            {"column-rule", "column-rule-width", "column-rule-style", "column-rule-color"},
+            {"grid", "grid-template", "grid-template-rows", "grid-template-columns", "grid-template-areas",
+                    "grid-auto-rows", "grid-auto-columns", "grid-auto-flow"},
+            {"grid-area", "grid-row", "grid-column", "grid-row-start", "grid-row-end",
+                    "grid-column-start", "grid-column-end"},
+            {"background", "background-color", "background-image", "background-position",
+                    "background-position-x", "background-position-y", "background-size", "background-repeat",
+                    "background-attachment", "background-origin", "background-clip"},
+            {"mask", "mask-image", "mask-mode", "mask-repeat", "mask-position", "mask-clip", "mask-origin",
+                    "mask-size", "mask-composite"},
+            {"animation", "animation-name", "animation-duration", "animation-timing-function",
+                    "animation-delay", "animation-iteration-count", "animation-direction",
+                    "animation-fill-mode", "animation-play-state", "animation-timeline", "animation-composition"},
+            {"transition", "transition-property", "transition-duration", "transition-timing-function",
+                    "transition-delay", "transition-behavior"},
+            {"outline", "outline-width", "outline-style", "outline-color"},
+            {"list-style", "list-style-type", "list-style-position", "list-style-image"},
+            {"text-decoration", "text-decoration-line", "text-decoration-color", "text-decoration-style",
+                    "text-decoration-thickness"},
+            {"text-emphasis", "text-emphasis-style", "text-emphasis-color"},
+            {"white-space", "white-space-collapse", "text-wrap", "text-wrap-mode", "text-wrap-style"},
+            {"container", "container-name", "container-type"},
+            {"contain-intrinsic-size", "contain-intrinsic-width", "contain-intrinsic-height"},
+            {"overscroll-behavior", "overscroll-behavior-x", "overscroll-behavior-y"},
+            {"scroll-margin", "scroll-margin-top", "scroll-margin-right", "scroll-margin-bottom",
+                    "scroll-margin-left"},
+            {"scroll-padding", "scroll-padding-top", "scroll-padding-right", "scroll-padding-bottom",
+                    "scroll-padding-left"},
+            {"offset", "offset-position", "offset-path", "offset-distance", "offset-rotate", "offset-anchor"},
+        };
+
+        // Physical properties and the logical properties that set them, depending on writing-mode
+        private static final String[][] ALIASES = {
+            {"width", "height", "inline-size", "block-size"},
+            {"min-width", "min-height", "min-inline-size", "min-block-size"},
+            {"max-width", "max-height", "max-inline-size", "max-block-size"},
+        };
+
+        // Properties no shorthand sets. Absent on purpose: all (resets everything), and
+        // direction and writing-mode, which change what the logical aliases above mean.
+        private static final String[] STANDALONE = {
+            "accent-color", "appearance", "aspect-ratio", "backdrop-filter", "border-collapse",
+            "border-spacing", "box-shadow", "box-sizing", "caption-side", "caret-color", "clear", "color",
+            "content", "counter-increment", "counter-reset", "cursor", "display", "empty-cells", "fill",
+            "filter", "float", "hyphens", "isolation", "letter-spacing", "mix-blend-mode", "object-fit",
+            "object-position", "opacity", "order", "outline-offset", "overflow-wrap", "perspective",
+            "pointer-events", "position", "quotes", "resize", "rotate", "scale", "scroll-behavior", "stroke",
+            "stroke-width", "tab-size", "table-layout", "text-align", "text-indent", "text-overflow",
+            "text-shadow", "text-transform", "transform", "transform-origin", "translate", "user-select",
+            "vertical-align", "visibility", "will-change", "word-break", "word-spacing", "z-index",
+        };
+
+        static final Map<String, Integer> GROUPS = groups();
+        // Per property, the shorthands that set it directly
+        private static final Map<String, List<String>> SETTERS = setters();
+        static final Map<String, Integer> DEPTHS = depths();
+        // Per shorthand, every property it sets, directly or through nested shorthands
+        static final Map<String, Set<String>> SETS = sets();
+
+        private static Map<String, Integer> groups() {
+            Map<String, String> parents = new HashMap<>();
+            for (Shorthand shorthand : Shorthand.ALL) {
+                union(parents, shorthand.name, shorthand.longhands);
+            }
+            union(parents, "border", Shorthand.BORDER_LONGHANDS);
+            for (String[] overlap : OVERLAPS) {
+                union(parents, overlap[0], overlap);
+            }
+            for (String[] aliases : ALIASES) {
+                union(parents, aliases[0], aliases);
+            }
+            for (String name : STANDALONE) {
+                parents.putIfAbsent(name, name);
+            }
+            Map<String, Integer> ids = new HashMap<>();
+            Map<String, Integer> groups = new HashMap<>();
+            for (String name : parents.keySet()) {
+                String root = root(parents, name);
+                Integer id = ids.get(root);
+                if (id == null) {
+                    id = ids.size();
+                    ids.put(root, id);
+                }
+                groups.put(name, id);
+            }
+            return groups;
+        }
+
+        // A shorthand sets the longhands listed after it, and, within its group, the
+        // properties named after it (font-variant sets font-variant-caps)
+        private static Map<String, List<String>> setters() {
+            Map<String, List<String>> setters = new HashMap<>();
+            for (Shorthand shorthand : Shorthand.ALL) {
+                sets(setters, shorthand.name, shorthand.longhands);
+            }
+            sets(setters, "border", Shorthand.BORDER_LONGHANDS);
+            for (String[] overlap : OVERLAPS) {
+                sets(setters, overlap[0], Arrays.copyOfRange(overlap, 1, overlap.length));
+            }
+            for (String a : GROUPS.keySet()) {
+                for (String b : GROUPS.keySet()) {
+                    if (b.startsWith(a + "-") && GROUPS.get(a).equals(GROUPS.get(b))) {
+                        sets(setters, a, b);
+                    }
+                }
+            }
+            return setters;
+        }
+
+        private static Map<String, Integer> depths() {
+            Map<String, Integer> depths = new HashMap<>();
+            for (String name : GROUPS.keySet()) {
+                depth(name, SETTERS, depths);
+            }
+            return depths;
+        }
+
+        private static Map<String, Set<String>> sets() {
+            Map<String, Set<String>> sets = new HashMap<>();
+            for (String name : GROUPS.keySet()) {
+                List<String> pending = new ArrayList<>(SETTERS.getOrDefault(name, List.of()));
+                while (!pending.isEmpty()) {
+                    String setter = pending.remove(pending.size() - 1);
+                    if (sets.computeIfAbsent(setter, k -> new HashSet<>()).add(name)) {
+                        pending.addAll(SETTERS.getOrDefault(setter, List.of()));
+                    }
+                }
+            }
+            return sets;
+        }
+
+        private static void sets(Map<String, List<String>> setters, String shorthand, String... longhands) {
+            for (String longhand : longhands) {
+                setters.computeIfAbsent(longhand, k -> new ArrayList<>()).add(shorthand);
+            }
+        }
+
+        private static int depth(String name, Map<String, List<String>> setters, Map<String, Integer> depths) {
+            Integer known = depths.get(name);
+            if (known != null) {
+                return known;
+            }
+            int depth = 0;
+            for (String setter : setters.getOrDefault(name, List.of())) {
+                depth = Math.max(depth, depth(setter, setters, depths) + 1);
+            }
+            depths.put(name, depth);
+            return depth;
+        }
+
+        private static void union(Map<String, String> parents, String shorthand, String... longhands) {
+            String root = root(parents, shorthand);
+            for (String longhand : longhands) {
+                String other = root(parents, longhand);
+                if (!other.equals(root)) {
+                    parents.put(other, root);
+                }
+            }
+        }
+
+        private static String root(Map<String, String> parents, String name) {
+            String parent = parents.putIfAbsent(name, name);
+            while (parent != null && !parent.equals(name)) {
+                name = parent;
+                parent = parents.get(name);
+            }
+            return name;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package luvs;
 
+import java.io.IOException;
 import java.util.Objects;
 import luvx.DelegatedCharSeq;
 
@@ -7,10 +8,13 @@ import luvx.DelegatedCharSeq;
  * Represents a single, immutable CSS property-value pair (e.g., "color: blue;").
  * Implements DelegatedCharSeq to be used in varargs with Strings.
  */
-public final class CssProperty implements DelegatedCharSeq {
+public final class CssProperty implements DelegatedCharSeq, CssRenderable {
 
     private final String name;
     private final CharSequence value;
+    private final PropertyName known; // null for names outside the PropertyName registry
+    private String text; // "name: value;", materialized on first use, racy single-check like String.hashCode
+    private int hash;    // cached hashCode(), 0 until computed
 
     public CssProperty(String name, CharSequence value) {
         this.name = Objects.requireNonNull(name, "Property name cannot be null").trim();
@@ -18,6 +22,16 @@ public final class CssProperty implements DelegatedCharSeq {
         if (this.name.isEmpty()) {
             throw new IllegalArgumentException("Property name cannot be empty.");
         }
+        this.known = PropertyName.of(this.name);
+    }
+
+    /**
+     * For P: a registered name needs neither trimming nor validation.
+     */
+    CssProperty(PropertyName name, CharSequence value) {
+        this.name = name.css();
+        this.value = Objects.requireNonNull(value, "Property value cannot be null");
+        this.known = name;
     }
 
     public String getName() {
@@ -28,8 +42,82 @@ public final class CssProperty implements DelegatedCharSeq {
         return value;
     }
 
+    /**
+     * The registered name, or null when the name is not in PropertyName.
+     */
+    PropertyName propertyName() {
+        return known;
+    }
+
+    @Override
+    public void renderTo(Appendable out, RenderOptions options) throws IOException {
+        renderDeclaration(out, options);
+        out.append(';');
+    }
+
+    /**
+     * Writes "name: value" without the trailing semicolon, which the enclosing block decides on.
+     */
+    void renderDeclaration(Appendable out, RenderOptions options) throws IOException {
+        out.append(name).append(options.colon);
+        CssText.append(out, value);
+    }
+
+    /**
+     * Byte counterpart of renderDeclaration.
+     */
+    void writeDeclaration(Utf8Out out, RenderOptions options) throws IOException {
+        if (known != null) {
+            out.write(known.utf8);
+        } else {
+            out.writeName(name);
+        }
+        out.write(options.utf8.colon);
+        out.writeText(value);
+    }
+
+    /**
+     * Rendered once; every CharSequence method is then served from the same String.
+     * Use renderUncached() to render a one-shot property without keeping its text.
+     */
     @Override
     public String delegatedCharSeqVal() {
-        return name + ": " + value + ";";
+        String result = text;
+        if (result == null) {
+            result = render();
+            text = result;
+        }
+        return result;
+    }
+
+    /**
+     * Equal when name and value are; values compare by their own equals(), so
+     * margin(px(0)) equals margin(px(0)) without rendering either.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof CssProperty)) {
+            return false;
+        }
+        CssProperty other = (CssProperty) o;
+        return hashCode() == other.hashCode() && name.equals(other.name) && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = name.hashCode() * 31 + value.hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return delegatedCharSeqVal();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package luvs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Implemented by the parts of the style model that can stream their CSS text.
+ * renderTo() writes straight into any Appendable (StringBuilder, Writer, a servlet
+ * response writer...) in a single pass, without building intermediate Strings.
+ */
+public interface CssRenderable {
+
+    /**
+     * Writes the CSS text of this object to the given Appendable using the given layout.
+     */
+    void renderTo(Appendable out, RenderOptions options) throws IOException;
+
+    /**
+     * Writes the CSS text of this object using the default pretty layout.
+     */
+    default void renderTo(Appendable out) throws IOException {
+        renderTo(out, RenderOptions.PRETTY);
+    }
+
+    /**
+     * Renders into a String using the given layout. Rules, stylesheets and keyframes
+     * memoize the result, see renderUncached().
+     */
+    default String render(RenderOptions options) {
+        return renderUncached(options);
+    }
+
+    /**
+     * Renders into a fresh String without memoizing it: render(), toString() and the
+     * CharSequence methods of rules, stylesheets and properties keep their text for
+     * reuse, which only pins memory for objects rendered once. Equivalent to renderTo()
+     * into a StringBuilder.
+     */
+    default String renderUncached(RenderOptions options) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            renderTo(sb, options);
+        } catch (IOException e) {
+            // StringBuilder never throws, this is unreachable
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Renders into a fresh String using the default pretty layout.
+     */
+    default String render() {
+        return render(RenderOptions.PRETTY);
+    }
+}
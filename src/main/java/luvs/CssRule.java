@@ -1,17 +1,20 @@
 package luvs;
 
+import java.io.IOException;
 import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 import luvx.DelegatedCharSeq;
 
 /**
  * Represents an immutable CSS rule, containing a selector and a set of properties.
  * e.g., ".container { color: blue; font-size: 16px; }"
  */
-public class CssRule implements DelegatedCharSeq {
+public class CssRule implements DelegatedCharSeq, CssRenderable {
 
     private final CharSequence selector;
     private final CssProperty[] properties;
+    private Rendered rendered; // memoized render(), see Rendered
+    private int hash;          // cached hashCode(), 0 until computed
 
     public CssRule(CharSequence selector, CssProperty... properties) {
         this.selector = selector;
@@ -28,22 +31,115 @@ public class CssRule implements DelegatedCharSeq {
     }   
 
     /**
-     * Renders the rule into a formatted CSS string with indentation.
+     * Renders the rule; in the pretty layout with indented properties, one per line.
      */
-    
-    
+    @Override
+    public void renderTo(Appendable out, RenderOptions options) throws IOException {
+        String cached = Rendered.textFor(rendered, options);
+        if (cached != null) {
+            out.append(cached);
+            return;
+        }
+        CssText.append(out, selector);
+        out.append(options.ruleOpen);
+        for (int i = 0; i < properties.length; i++) {
+            out.append(options.declIndent);
+            properties[i].renderDeclaration(out, options);
+            options.endDeclaration(out, i, properties.length);
+            out.append(options.declEnd);
+        }
+        out.append(options.ruleClose);
+    }
+
+    /**
+     * Byte counterpart of renderTo.
+     */
+    void writeTo(Utf8Out out, RenderOptions options) throws IOException {
+        if (selector instanceof Selector) {
+            ((Selector) selector).writeTo(out);
+        } else {
+            out.writeText(selector);
+        }
+        out.write(options.utf8.ruleOpen);
+        for (int i = 0; i < properties.length; i++) {
+            out.write(options.utf8.declIndent);
+            properties[i].writeDeclaration(out, options);
+            options.endDeclaration(out, i, properties.length);
+            out.write(options.utf8.declEnd);
+        }
+        out.write(options.utf8.ruleClose);
+    }
+
+    /**
+     * Cached per RenderOptions, so toString() and charAt() do not re-render the rule.
+     * renderTo() and renderUncached() bypass the cache for one-shot use.
+     */
+    @Override
+    public String render(RenderOptions options) {
+        String cached = Rendered.textFor(rendered, options);
+        if (cached == null) {
+            cached = CssRenderable.super.render(options);
+            rendered = new Rendered(options, cached);
+        }
+        return cached;
+    }
+
+    CharSequence selector() {
+        return selector;
+    }
+
+    CssProperty[] properties() {
+        return properties;
+    }
+
+    /**
+     * See Selector.canMatch(); rules with a plain-text selector are always kept.
+     */
+    boolean canMatch(Predicate<CssClass> used) {
+        return !(selector instanceof Selector) || ((Selector) selector).canMatch(used);
+    }
+
+    /**
+     * False for a rule without properties, such rules are skipped by compact rendering.
+     */
+    boolean hasProperties() {
+        return properties.length > 0;
+    }
+
     @Override
     public String delegatedCharSeqVal() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(selector).append(" {\n");
-        String propertiesStr = Arrays.stream(properties)
-                .map(CssProperty::toString)
-                .collect(Collectors.joining("\n"));
-        // Indent properties for readability
-        for (String line : propertiesStr.split("\n")) {
-            sb.append("    ").append(line).append("\n");
-        }
-        sb.append("}");
-        return sb.toString();
-    }
-}
\ No newline at end of file
+        return render();
+    }
+
+    /**
+     * Equal when selector and declarations are. Blocks shared through CssInterner
+     * compare by reference.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o == null || o.getClass() != getClass()) {
+            return false;
+        }
+        CssRule other = (CssRule) o;
+        return hashCode() == other.hashCode() && selector.equals(other.selector)
+                && (properties == other.properties || Arrays.equals(properties, other.properties));
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = selector.hashCode() * 31 + Arrays.hashCode(properties);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return delegatedCharSeqVal();
+    }
+}
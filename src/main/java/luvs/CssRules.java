@@ -1,7 +1,21 @@
 package luvs;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 import luvx.DelegatedCharSeq;
 
 /**
@@ -9,45 +23,393 @@ import luvx.DelegatedCharSeq;
  * Create with: style(rule1, rule2, keyframes1, ...)
  * Use with: E.style(myStyle)
  */
-public final class CssRules implements DelegatedCharSeq {
+public final class CssRules implements DelegatedCharSeq, CssRenderable {
 
     private final CssRule[] rules;
     private final Keyframes[] keyframes;
+    // Below this many rules renderParallel renders sequentially; chunks are PARALLEL_CHUNK rules
+    static final int PARALLEL_THRESHOLD = 4096;
+    static final int PARALLEL_CHUNK = 1024;
+    // Values of animation and animation-name that are never a keyframes name
+    private static final Set<String> ANIMATION_KEYWORDS = Set.of(
+            "none", "infinite", "normal", "reverse", "alternate", "alternate-reverse",
+            "forwards", "backwards", "both", "running", "paused",
+            "linear", "ease", "ease-in", "ease-out", "ease-in-out", "step-start", "step-end",
+            "initial", "inherit", "unset", "revert", "revert-layer");
+
+    private Rendered rendered; // memoized render(), see Rendered
+    private CssRulesIndex index; // built on first use, racy single-check
+    private int hash;            // cached hashCode(), 0 until computed
 
     public CssRules(CssRule... rules) {
         this.rules = rules;
         this.keyframes = new Keyframes[0];
     }
 
+    /**
+     * For stylesheets derived from another one (optimized, shaken, split, interned):
+     * the keyframes are taken as they are, already distinct.
+     */
+    CssRules(CssRule[] rules, Keyframes[] keyframes) {
+        this.rules = rules;
+        this.keyframes = keyframes;
+    }
+
+    /**
+     * Keyframes with the same steps are kept once, under the first one's name;
+     * animation and animation-name declarations naming a dropped one are rewritten.
+     */
     public CssRules(Object... items) {
-        this.rules = Arrays.stream(items)
-            .filter(item -> item instanceof CssRule)
-            .map(item -> (CssRule) item)
+        CssRule[] rules = Arrays.stream(items)
+                .filter(item -> item instanceof CssRule)
+                .map(item -> (CssRule) item)
+                .toArray(CssRule[]::new);
+        Keyframes[] keyframes = Arrays.stream(items)
+                .filter(item -> item instanceof Keyframes)
+                .map(item -> (Keyframes) item)
+                .toArray(Keyframes[]::new);
+        Map<String, String> renames = new HashMap<>();
+        this.keyframes = Keyframes.distinct(keyframes, renames);
+        this.rules = renames.isEmpty() ? rules : renameAnimations(rules, renames);
+    }
+
+    private static CssRule[] renameAnimations(CssRule[] rules, Map<String, String> renames) {
+        CssRule[] result = rules;
+        for (int i = 0; i < rules.length; i++) {
+            CssProperty[] properties = rules[i].properties();
+            CssProperty[] renamed = properties;
+            for (int j = 0; j < properties.length; j++) {
+                PropertyName name = properties[j].propertyName();
+                if (name != PropertyName.ANIMATION && name != PropertyName.ANIMATION_NAME) {
+                    continue;
+                }
+                String value = CssText.of(properties[j].getValue());
+                String replaced = renameIdentifiers(value, renames);
+                if (!replaced.equals(value)) {
+                    if (renamed == properties) {
+                        renamed = properties.clone();
+                    }
+                    renamed[j] = new CssProperty(name, replaced);
+                }
+            }
+            if (renamed != properties) {
+                if (result == rules) {
+                    result = rules.clone();
+                }
+                result[i] = new CssRule(rules[i].selector(), renamed);
+            }
+        }
+        return result;
+    }
+
+    // Replaces whole identifiers only: "fadeIn 1s, fadeInSlow 2s" renames fadeIn alone.
+    // Keywords, function names and function arguments (steps(4, end), var(--x)) are kept.
+    private static String renameIdentifiers(String value, Map<String, String> renames) {
+        StringBuilder sb = null;
+        int copied = 0;
+        int depth = 0;
+        for (int i = 0; i < value.length(); ) {
+            char c = value.charAt(i);
+            if (!isIdentifierChar(c)) {
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')' && depth > 0) {
+                    depth--;
+                }
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < value.length() && isIdentifierChar(value.charAt(i))) {
+                i++;
+            }
+            if (depth > 0 || i < value.length() && value.charAt(i) == '(') {
+                continue;
+            }
+            String identifier = value.substring(start, i);
+            String replacement = ANIMATION_KEYWORDS.contains(identifier) ? null : renames.get(identifier);
+            if (replacement != null) {
+                if (sb == null) {
+                    sb = new StringBuilder(value.length() + 16);
+                }
+                sb.append(value, copied, start).append(replacement);
+                copied = i;
+            }
+        }
+        return sb == null ? value : sb.append(value, copied, value.length()).toString();
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == '_' || c >= 0x80;
+    }
+
+    CssRule[] rules() {
+        return rules;
+    }
+
+    Keyframes[] keyframes() {
+        return keyframes;
+    }
+
+    /**
+     * Returns an equivalent, smaller stylesheet, see CssOptimizer.optimize(CssRules).
+     */
+    public CssRules optimize() {
+        return CssOptimizer.optimize(this);
+    }
+
+    /**
+     * Index of the rules by the CssClass and HtmlTag constants they reference, built
+     * once per CssRules. Use it to split out critical CSS per request.
+     */
+    public CssRulesIndex index() {
+        CssRulesIndex result = index;
+        if (result == null) {
+            result = new CssRulesIndex(this);
+            index = result;
+        }
+        return result;
+    }
+
+    /**
+     * Tree shaking: drops the rules whose selector requires a class that is not in
+     * usedClassNames. Names are the enum constant names as written in templates, also
+     * when CssClassNames mangling is on (getClassName() would return the short name).
+     * Only rules built from Selector/CssClass can be judged; rules with plain-text
+     * selectors are kept, so shake before CssOptimizer groups rules.
+     */
+    public CssRules retainClasses(Collection<String> usedClassNames) {
+        Set<String> used = usedClassNames instanceof Set ? (Set<String>) usedClassNames : new HashSet<>(usedClassNames);
+        return retain(cssClass -> used.contains(((Enum<?>) cssClass).name()));
+    }
+
+    /**
+     * Tree shaking by constants, see retainClasses(Collection).
+     */
+    public CssRules retainClasses(CssClass... usedClasses) {
+        Set<CssClass> used = new HashSet<>(Arrays.asList(usedClasses));
+        return retain(used::contains);
+    }
+
+    private CssRules retain(Predicate<CssClass> used) {
+        CssRule[] kept = Arrays.stream(rules)
+            .filter(rule -> rule.canMatch(used))
             .toArray(CssRule[]::new);
+        return kept.length == rules.length ? this : new CssRules(kept, keyframes);
+    }
+
+    /**
+     * Writes the keyframes first, then the rules, separated according to the layout.
+     */
+    @Override
+    public void renderTo(Appendable out, RenderOptions options) throws IOException {
+        String cached = Rendered.textFor(rendered, options);
+        if (cached != null) {
+            out.append(cached);
+            return;
+        }
+        boolean first = true;
+        for (Keyframes k : keyframes) {
+            if (!first) {
+                out.append(options.itemSeparator);
+            }
+            k.renderTo(out, options);
+            first = false;
+        }
+        for (CssRule rule : rules) {
+            if (options.isOmitEmptyRules() && !rule.hasProperties()) {
+                continue;
+            }
+            if (!first) {
+                out.append(options.itemSeparator);
+            }
+            rule.renderTo(out, options);
+            first = false;
+        }
+    }
+
+    /**
+     * Renders straight to UTF-8 bytes: constant tokens are written from pre-encoded byte
+     * arrays, so there is no separate char-to-byte encoding pass over the output.
+     * Output is identical to render(options) encoded as UTF-8.
+     */
+    public void writeTo(OutputStream out, RenderOptions options) throws IOException {
+        Utf8Out sink = Utf8Out.to(out);
+        writeTo(sink, options);
+        sink.flush();
+    }
 
-        this.keyframes = Arrays.stream(items)
-            .filter(item -> item instanceof Keyframes)
-            .map(item -> (Keyframes) item)
-            .toArray(Keyframes[]::new);
+    /**
+     * Renders into the buffer at its position.
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public void writeTo(ByteBuffer target, RenderOptions options) {
+        try {
+            writeTo(Utf8Out.to(target), options);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // ByteBuffer sinks do not throw
+        }
     }
 
+    /**
+     * The UTF-8 rendering as a new heap buffer, ready to read.
+     */
+    public ByteBuffer toUtf8(RenderOptions options) {
+        return ByteBuffer.wrap(utf8Bytes(options));
+    }
+
+    byte[] utf8Bytes(RenderOptions options) {
+        Utf8Out sink = Utf8Out.growing(rules.length * 64);
+        try {
+            writeTo(sink, options);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // growing sinks do not throw
+        }
+        return sink.toByteArray();
+    }
+
+    private void writeTo(Utf8Out out, RenderOptions options) throws IOException {
+        boolean first = true;
+        for (Keyframes k : keyframes) {
+            if (!first) {
+                out.write(options.utf8.itemSeparator);
+            }
+            k.writeTo(out, options);
+            first = false;
+        }
+        for (CssRule rule : rules) {
+            if (options.isOmitEmptyRules() && !rule.hasProperties()) {
+                continue;
+            }
+            if (!first) {
+                out.write(options.utf8.itemSeparator);
+            }
+            rule.writeTo(out, options);
+            first = false;
+        }
+    }
+
+    /**
+     * Renders once per RenderOptions and keeps the result, later calls (including
+     * toString() and the CharSequence methods) reuse it. renderTo() and
+     * renderUncached() never fill this cache, so one-shot rendering retains nothing.
+     */
     @Override
-    public String delegatedCharSeqVal() {
-        if (keyframes.length == 0) {
-            return Arrays.stream(rules)
-                .map(CssRule::toString)
-                .collect(Collectors.joining("\n\n"));
+    public String render(RenderOptions options) {
+        String cached = Rendered.textFor(rendered, options);
+        if (cached == null) {
+            cached = CssRenderable.super.render(options);
+            rendered = new Rendered(options, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Like render(options), but for large stylesheets renders chunks of rules on the
+     * common ForkJoinPool and concatenates them in order. The output is identical to
+     * render(options); below PARALLEL_THRESHOLD rules it simply calls it.
+     */
+    public String renderParallel(RenderOptions options) {
+        return renderParallel(options, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * renderParallel on the given executor.
+     */
+    public String renderParallel(RenderOptions options, Executor executor) {
+        String cached = Rendered.textFor(rendered, options);
+        if (cached != null) {
+            return cached;
+        }
+        if (rules.length < PARALLEL_THRESHOLD) {
+            return render(options);
+        }
+        List<CompletableFuture<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < rules.length; from += PARALLEL_CHUNK) {
+            int start = from;
+            int end = Math.min(from + PARALLEL_CHUNK, rules.length);
+            chunks.add(CompletableFuture.supplyAsync(() -> renderChunk(start, end, options), executor));
+        }
+        // Keyframes are few; render them here while the chunks run
+        StringBuilder sb = new StringBuilder();
+        for (Keyframes k : keyframes) {
+            if (sb.length() > 0) {
+                sb.append(options.itemSeparator);
+            }
+            sb.append(k.render(options));
+        }
+        boolean first = keyframes.length == 0;
+        for (CompletableFuture<String> chunk : chunks) {
+            String text = chunk.join();
+            if (text == null) {
+                continue; // only omitted empty rules
+            }
+            if (!first) {
+                sb.append(options.itemSeparator);
+            }
+            sb.append(text);
+            first = false;
         }
+        String result = sb.toString();
+        rendered = new Rendered(options, result);
+        return result;
+    }
 
-        String keyframesStr = Arrays.stream(keyframes)
-            .map(Keyframes::toString)
-            .collect(Collectors.joining("\n\n"));
+    // Rules [from, to) with separators between them, or null when every rule was omitted
+    private String renderChunk(int from, int to, RenderOptions options) {
+        StringBuilder sb = new StringBuilder((to - from) * 64);
+        boolean first = true;
+        try {
+            for (int i = from; i < to; i++) {
+                if (options.isOmitEmptyRules() && !rules[i].hasProperties()) {
+                    continue;
+                }
+                if (!first) {
+                    sb.append(options.itemSeparator);
+                }
+                rules[i].renderTo(sb, options);
+                first = false;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
+        return first ? null : sb.toString();
+    }
 
-        String rulesStr = Arrays.stream(rules)
-            .map(CssRule::toString)
-            .collect(Collectors.joining("\n\n"));
+    @Override
+    public String delegatedCharSeqVal() {
+        return render();
+    }
 
-        return keyframesStr + "\n\n" + rulesStr;
+    /**
+     * Equal when keyframes and rules are, in order; usable as a cache key.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof CssRules)) {
+            return false;
+        }
+        CssRules other = (CssRules) o;
+        return hashCode() == other.hashCode() && Arrays.equals(rules, other.rules)
+                && Arrays.equals(keyframes, other.keyframes);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Arrays.hashCode(keyframes) * 31 + Arrays.hashCode(rules);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return delegatedCharSeqVal();
     }
 
     /**
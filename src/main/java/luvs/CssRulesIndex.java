@@ -0,0 +1,157 @@
+package luvs;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index from CssClass and HtmlTag constants to the rules of a CssRules that reference
+ * them, for critical-CSS extraction. Obtain it with CssRules.index(); it is built once
+ * and immutable, so it can be shared and queried per request.
+ *
+ * Usage:
+ * <pre>
+ * CssRulesIndex.Split split = styles.index().split(List.of(header, hero), List.of(h1));
+ * head.style(split.critical());      // inlined for first paint
+ * deferred.css(split.deferred());    // loaded later
+ * </pre>
+ */
+public final class CssRulesIndex {
+
+    private final CssRule[] rules;
+    private final Keyframes[] keyframes;
+
+    private final EnumMap<HtmlTag, BitSet> byTag = new EnumMap<>(HtmlTag.class);
+    // One array per CssClass enum type, indexed by ordinal: EnumMap lookups without a
+    // single enum type to parameterize on.
+    private final Map<Class<?>, BitSet[]> byClass = new HashMap<>();
+    // Rules that reference no class or tag (plain-text selectors, *, :root...)
+    private final BitSet unindexed = new BitSet();
+
+    CssRulesIndex(CssRules stylesheet) {
+        this.rules = stylesheet.rules();
+        this.keyframes = stylesheet.keyframes();
+        for (int i = 0; i < rules.length; i++) {
+            CharSequence selector = rules[i].selector();
+            if (!(selector instanceof Selector)) {
+                unindexed.set(i);
+                continue;
+            }
+            int rule = i;
+            boolean[] referenced = {false};
+            ((Selector) selector).forEachReference(part -> {
+                referenced[0] = true;
+                if (part instanceof HtmlTag) {
+                    byTag.computeIfAbsent((HtmlTag) part, tag -> new BitSet()).set(rule);
+                } else {
+                    classSlot((CssClass) part, true).set(rule);
+                }
+            });
+            if (!referenced[0]) {
+                unindexed.set(i);
+            }
+        }
+    }
+
+    private BitSet classSlot(CssClass cssClass, boolean create) {
+        Enum<?> constant = (Enum<?>) cssClass;
+        Class<?> type = constant.getDeclaringClass();
+        BitSet[] slots = byClass.get(type);
+        if (slots == null) {
+            if (!create) {
+                return null;
+            }
+            slots = new BitSet[type.getEnumConstants().length];
+            byClass.put(type, slots);
+        }
+        BitSet slot = slots[constant.ordinal()];
+        if (slot == null && create) {
+            slot = new BitSet();
+            slots[constant.ordinal()] = slot;
+        }
+        return slot;
+    }
+
+    /**
+     * Rules referencing the class, in cascade order.
+     */
+    public List<CssRule> rulesFor(CssClass cssClass) {
+        return select(classSlot(cssClass, false));
+    }
+
+    /**
+     * Rules referencing the tag, in cascade order.
+     */
+    public List<CssRule> rulesFor(HtmlTag tag) {
+        return select(byTag.get(tag));
+    }
+
+    private List<CssRule> select(BitSet bits) {
+        List<CssRule> result = new ArrayList<>();
+        if (bits != null) {
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                result.add(rules[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Splits the stylesheet into the rules needed by the given classes and tags and the rest.
+     * A rule is critical when it references at least one of them; rules that reference no
+     * class or tag at all are always critical, as are all keyframes. Both halves keep the
+     * original cascade order.
+     */
+    public Split split(Collection<? extends CssClass> classes, Collection<HtmlTag> tags) {
+        BitSet critical = (BitSet) unindexed.clone();
+        for (CssClass cssClass : classes) {
+            BitSet slot = classSlot(cssClass, false);
+            if (slot != null) {
+                critical.or(slot);
+            }
+        }
+        for (HtmlTag tag : tags) {
+            BitSet slot = byTag.get(tag);
+            if (slot != null) {
+                critical.or(slot);
+            }
+        }
+        CssRule[] criticalRules = new CssRule[critical.cardinality()];
+        CssRule[] deferredRules = new CssRule[rules.length - criticalRules.length];
+        int c = 0;
+        int d = 0;
+        for (int i = 0; i < rules.length; i++) {
+            if (critical.get(i)) {
+                criticalRules[c++] = rules[i];
+            } else {
+                deferredRules[d++] = rules[i];
+            }
+        }
+        return new Split(new CssRules(criticalRules, keyframes), new CssRules(deferredRules, new Keyframes[0]));
+    }
+
+    /**
+     * The two halves of a stylesheet split by split().
+     */
+    public static final class Split {
+        private final CssRules critical;
+        private final CssRules deferred;
+
+        Split(CssRules critical, CssRules deferred) {
+            this.critical = critical;
+            this.deferred = deferred;
+        }
+
+        public CssRules critical() {
+            return critical;
+        }
+
+        public CssRules deferred() {
+            return deferred;
+        }
+    }
+}
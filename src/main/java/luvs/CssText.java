@@ -0,0 +1,33 @@
+package luvs;
+
+import java.io.IOException;
+import luvx.DelegatedCharSeq;
+
+/**
+ * Internal helpers shared by the renderers.
+ */
+final class CssText {
+
+    private CssText() {} // Utility class
+
+    /**
+     * Appends the text of a value or selector.
+     * DelegatedCharSeq implementations are asked for their materialized String, so
+     * StringBuilder takes its String fast path instead of copying char by char, and
+     * Writer.append(CharSequence) does not depend on toString().
+     */
+    static void append(Appendable out, CharSequence text) throws IOException {
+        if (text instanceof DelegatedCharSeq) {
+            out.append(((DelegatedCharSeq) text).delegatedCharSeqVal());
+        } else {
+            out.append(text);
+        }
+    }
+
+    /**
+     * The text of a value or selector as a String.
+     */
+    static String of(CharSequence text) {
+        return text instanceof DelegatedCharSeq ? ((DelegatedCharSeq) text).delegatedCharSeqVal() : text.toString();
+    }
+}
@@ -58,49 +58,49 @@ public enum HtmlTag implements DelegatedCharSeq {
      * Pseudo-class :hover
      */
     public Selector hover() {
-        return Selector.selector(this + ":hover");
+        return asSelector().hover();
     }
 
     /**
      * Pseudo-class :focus
      */
     public Selector focus() {
-        return Selector.selector(this + ":focus");
+        return asSelector().focus();
     }
 
     /**
      * Pseudo-class :active
      */
     public Selector active() {
-        return Selector.selector(this + ":active");
+        return asSelector().active();
     }
 
     /**
      * Pseudo-class :first-child
      */
     public Selector firstChild() {
-        return Selector.selector(this + ":first-child");
+        return asSelector().firstChild();
     }
 
     /**
      * Pseudo-class :last-child
      */
     public Selector lastChild() {
-        return Selector.selector(this + ":last-child");
+        return asSelector().lastChild();
     }
 
     /**
      * Pseudo-class :nth-child(n)
      */
     public Selector nthChild(CharSequence n) {
-        return Selector.selector(this + ":nth-child(" + n + ")");
+        return asSelector().nthChild(n);
     }
 
     /**
      * Pseudo-class :nth-of-type(n)
      */
     public Selector nthOfType(CharSequence n) {
-        return Selector.selector(this + ":nth-of-type(" + n + ")");
+        return asSelector().nthOfType(n);
     }
 
     /**
@@ -108,10 +108,7 @@ public enum HtmlTag implements DelegatedCharSeq {
      * Auto-detects CssClass and adds dot prefix
      */
     public Selector not(CharSequence selector) {
-        if (selector instanceof CssClass) {
-            return Selector.selector(this + ":not(" + ((CssClass) selector).getSelector() + ")");
-        }
-        return Selector.selector(this + ":not(" + selector + ")");
+        return asSelector().not(selector);
     }
 
     // ========== Pseudo-elements ==========
@@ -120,42 +117,42 @@ public enum HtmlTag implements DelegatedCharSeq {
      * Pseudo-element ::before
      */
     public Selector before() {
-        return Selector.selector(this + "::before");
+        return asSelector().before();
     }
 
     /**
      * Pseudo-element ::after
      */
     public Selector after() {
-        return Selector.selector(this + "::after");
+        return asSelector().after();
     }
 
     /**
      * Pseudo-element ::first-line
      */
     public Selector firstLine() {
-        return Selector.selector(this + "::first-line");
+        return asSelector().firstLine();
     }
 
     /**
      * Pseudo-element ::first-letter
      */
     public Selector firstLetter() {
-        return Selector.selector(this + "::first-letter");
+        return asSelector().firstLetter();
     }
 
     /**
      * Pseudo-element ::selection
      */
     public Selector selection() {
-        return Selector.selector(this + "::selection");
+        return asSelector().selection();
     }
 
     /**
      * Pseudo-element ::placeholder
      */
     public Selector placeholder() {
-        return Selector.selector(this + "::placeholder");
+        return asSelector().placeholder();
     }
 
     // ========== Attribute Selectors ==========
@@ -164,14 +161,14 @@ public enum HtmlTag implements DelegatedCharSeq {
      * Attribute selector [attr]
      */
     public Selector withAttr(CharSequence attr) {
-        return Selector.selector(this + "[" + attr + "]");
+        return asSelector().attach("[" + attr + "]");
     }
 
     /**
      * Attribute selector [attr="value"]
      */
     public Selector withAttr(CharSequence attr, CharSequence value) {
-        return Selector.selector(this + "[" + attr + "=\"" + value + "\"]");
+        return asSelector().attach("[" + attr + "=\"" + value + "\"]");
     }
 
     /**
@@ -179,6 +176,6 @@ public enum HtmlTag implements DelegatedCharSeq {
      * Usage: div.rule(color("red"), ...)
      */
     public CssRule rule(CssProperty... properties) {
-        return new CssRule(name(), properties);
+        return new CssRule(asSelector(), properties);
     }
 }
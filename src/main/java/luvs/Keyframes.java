@@ -1,7 +1,13 @@
 package luvs;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents a CSS @keyframes rule.
@@ -12,11 +18,20 @@ import java.util.stream.Collectors;
  *     frame("0%", opacity(0)),
  *     frame("100%", opacity(1))
  * );
+ * var pulse = keyframes(frame("50%", opacity(0.5)));   // named from its steps: "kf-..."
  * </pre>
+ *
+ * CssRules emits keyframes with identical steps once, see distinct().
  */
-public class Keyframes {
+public class Keyframes implements CssRenderable {
+    private static final byte[] KEYFRAMES = Utf8Out.encode("@keyframes ");
+
     private final String name;
     private final KeyframeStep[] steps;
+    private Rendered rendered; // memoized render(), see Rendered
+    private int hash;          // cached hashCode(), 0 until computed
+    private String stepsText;  // compact steps, the content the content hash is taken of
+    private long contentHash;  // 0 until computed
 
     public Keyframes(String name, KeyframeStep... steps) {
         this.name = name;
@@ -27,32 +42,231 @@ public class Keyframes {
         return name;
     }
 
+    /**
+     * Stable 64-bit FNV-1a hash of the steps, independent of the name: keyframes that
+     * animate the same way have the same content hash, in every JVM.
+     */
+    public long contentHash() {
+        long h = contentHash;
+        if (h == 0) {
+            h = fnv1a(stepsText());
+            contentHash = h;
+        }
+        return h;
+    }
+
+    /**
+     * True when both have the same steps, whatever their names.
+     */
+    public boolean sameSteps(Keyframes other) {
+        return other == this || contentHash() == other.contentHash() && stepsText().equals(other.stepsText());
+    }
+
+    private String stepsText() {
+        String result = stepsText;
+        if (result == null) {
+            result = stepsText(steps);
+            stepsText = result;
+        }
+        return result;
+    }
+
+    private static String stepsText(KeyframeStep[] steps) {
+        StringBuilder sb = new StringBuilder(steps.length * 32);
+        for (KeyframeStep step : steps) {
+            sb.append(step.render(RenderOptions.COMPACT));
+        }
+        return sb.toString();
+    }
+
+    private static long fnv1a(String text) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            h = (h ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Drops keyframes whose steps equal those of an earlier one. For each dropped
+     * keyframes with a different name, renames receives old name -> kept name.
+     *
+     * A name defined more than once with different steps is left alone: the last
+     * definition wins in the browser, so neither merging into it nor renaming onto
+     * it would keep the same animation.
+     */
+    static Keyframes[] distinct(Keyframes[] keyframes, Map<String, String> renames) {
+        if (keyframes.length < 2) {
+            return keyframes;
+        }
+        Map<String, Keyframes> byName = new HashMap<>();
+        Set<String> redefined = new HashSet<>();
+        for (Keyframes k : keyframes) {
+            Keyframes previous = byName.putIfAbsent(k.name, k);
+            if (previous != null && !previous.sameSteps(k)) {
+                redefined.add(k.name);
+            }
+        }
+        Map<Long, List<Keyframes>> byHash = new HashMap<>();
+        List<Keyframes> kept = new ArrayList<>(keyframes.length);
+        for (Keyframes k : keyframes) {
+            Keyframes first = null;
+            if (!redefined.contains(k.name)) {
+                List<Keyframes> sameHash = byHash.computeIfAbsent(k.contentHash(), h -> new ArrayList<>(1));
+                for (Keyframes candidate : sameHash) {
+                    if (candidate.sameSteps(k)) {
+                        first = candidate;
+                        break;
+                    }
+                }
+                if (first == null) {
+                    sameHash.add(k);
+                }
+            }
+            if (first == null) {
+                kept.add(k);
+            } else if (!first.name.equals(k.name)) {
+                renames.putIfAbsent(k.name, first.name);
+            }
+        }
+        return kept.size() == keyframes.length ? keyframes : kept.toArray(new Keyframes[0]);
+    }
+
+    @Override
+    public void renderTo(Appendable out, RenderOptions options) throws IOException {
+        String cached = Rendered.textFor(rendered, options);
+        if (cached != null) {
+            out.append(cached);
+            return;
+        }
+        out.append("@keyframes ").append(name).append(options.keyframesOpen);
+        for (int i = 0; i < steps.length; i++) {
+            if (i > 0) {
+                out.append(options.stepSeparator);
+            }
+            steps[i].renderTo(out, options);
+        }
+        out.append(options.keyframesClose);
+    }
+
+    void writeTo(Utf8Out out, RenderOptions options) throws IOException {
+        out.write(KEYFRAMES);
+        out.writeText(name);
+        out.write(options.utf8.keyframesOpen);
+        for (int i = 0; i < steps.length; i++) {
+            if (i > 0) {
+                out.write(options.utf8.stepSeparator);
+            }
+            steps[i].writeTo(out, options);
+        }
+        out.write(options.utf8.keyframesClose);
+    }
+
+    /**
+     * Memoized per RenderOptions; renderTo() streams and renderUncached() renders
+     * without filling the cache.
+     */
+    @Override
+    public String render(RenderOptions options) {
+        String cached = Rendered.textFor(rendered, options);
+        if (cached == null) {
+            cached = CssRenderable.super.render(options);
+            rendered = new Rendered(options, cached);
+        }
+        return cached;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o == null || o.getClass() != getClass()) {
+            return false;
+        }
+        Keyframes other = (Keyframes) o;
+        return hashCode() == other.hashCode() && name.equals(other.name) && Arrays.equals(steps, other.steps);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = name.hashCode() * 31 + Arrays.hashCode(steps);
+            hash = h;
+        }
+        return h;
+    }
+
     @Override
     public String toString() {
-        String stepsStr = Arrays.stream(steps)
-            .map(KeyframeStep::toString)
-            .collect(Collectors.joining("\n  "));
-        return "@keyframes " + name + " {\n  " + stepsStr + "\n}";
+        return render();
     }
 
     /**
      * Represents a single keyframe step.
      */
-    public static class KeyframeStep {
+    public static class KeyframeStep implements CssRenderable {
         private final String selector; // "0%", "50%", "from", "to"
         private final CssProperty[] properties;
+        private int hash; // cached hashCode(), 0 until computed
 
         public KeyframeStep(String selector, CssProperty... properties) {
             this.selector = selector;
             this.properties = properties;
         }
 
+        @Override
+        public void renderTo(Appendable out, RenderOptions options) throws IOException {
+            out.append(selector).append(options.stepOpen);
+            for (int i = 0; i < properties.length; i++) {
+                if (i > 0) {
+                    out.append(options.stepDeclSeparator);
+                }
+                properties[i].renderDeclaration(out, options);
+                options.endDeclaration(out, i, properties.length);
+            }
+            out.append(options.stepClose);
+        }
+
+        void writeTo(Utf8Out out, RenderOptions options) throws IOException {
+            out.writeText(selector);
+            out.write(options.utf8.stepOpen);
+            for (int i = 0; i < properties.length; i++) {
+                if (i > 0) {
+                    out.write(options.utf8.stepDeclSeparator);
+                }
+                properties[i].writeDeclaration(out, options);
+                options.endDeclaration(out, i, properties.length);
+            }
+            out.write(options.utf8.stepClose);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (o == null || o.getClass() != getClass()) {
+                return false;
+            }
+            KeyframeStep other = (KeyframeStep) o;
+            return selector.equals(other.selector) && Arrays.equals(properties, other.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = hash;
+            if (h == 0) {
+                h = selector.hashCode() * 31 + Arrays.hashCode(properties);
+                hash = h;
+            }
+            return h;
+        }
+
         @Override
         public String toString() {
-            String propsStr = Arrays.stream(properties)
-                .map(CssProperty::toString)
-                .collect(Collectors.joining(" "));
-            return selector + " { " + propsStr + " }";
+            return render();
         }
     }
 
@@ -72,4 +286,12 @@ public class Keyframes {
     public static Keyframes keyframes(String name, KeyframeStep... steps) {
         return new Keyframes(name, steps);
     }
+
+    /**
+     * Keyframes named after the content hash of their steps ("kf-" + base 36), so
+     * identical animations get identical names wherever they are declared.
+     */
+    public static Keyframes keyframes(KeyframeStep... steps) {
+        return new Keyframes("kf-" + Long.toUnsignedString(fnv1a(stepsText(steps)), 36), steps);
+    }
 }
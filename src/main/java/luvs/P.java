@@ -19,113 +19,117 @@ public final class P {
     public static CssProperty prop(String name, CharSequence value) {
         return new CssProperty(name, value);
     }
+
+    private static CssProperty prop(PropertyName name, CharSequence value) {
+        return new CssProperty(name, value);
+    }
     
     // --- Color & Background ---
-    public static CssProperty color(Color value) { return prop("color", value); }
-    public static CssProperty color(CharSequence value) { return prop("color", value); }
+    public static CssProperty color(Color value) { return prop(PropertyName.COLOR, value); }
+    public static CssProperty color(CharSequence value) { return prop(PropertyName.COLOR, value); }
 
-    public static CssProperty background_color(Color value) { return prop("background-color", value); }
-    public static CssProperty background_color(CharSequence value) { return prop("background-color", value); }
+    public static CssProperty background_color(Color value) { return prop(PropertyName.BACKGROUND_COLOR, value); }
+    public static CssProperty background_color(CharSequence value) { return prop(PropertyName.BACKGROUND_COLOR, value); }
 
-    public static CssProperty background(CharSequence value) { return prop("background", value); }
-    public static CssProperty background_image(CharSequence value) { return prop("background-image", value); }
+    public static CssProperty background(CharSequence value) { return prop(PropertyName.BACKGROUND, value); }
+    public static CssProperty background_image(CharSequence value) { return prop(PropertyName.BACKGROUND_IMAGE, value); }
 
     // --- Font & Text ---
-    public static CssProperty font_size(CharSequence value) { return prop("font-size", value); }
+    public static CssProperty font_size(CharSequence value) { return prop(PropertyName.FONT_SIZE, value); }
 
-    public static CssProperty font_weight(FontWeight value) { return prop("font-weight", value); }
-    public static CssProperty font_weight(CharSequence value) { return prop("font-weight", value); }
+    public static CssProperty font_weight(FontWeight value) { return prop(PropertyName.FONT_WEIGHT, value); }
+    public static CssProperty font_weight(CharSequence value) { return prop(PropertyName.FONT_WEIGHT, value); }
 
-    public static CssProperty font_family(CharSequence... values) { return prop("font-family", String.join(", ", values)); }
+    public static CssProperty font_family(CharSequence... values) { return prop(PropertyName.FONT_FAMILY, String.join(", ", values)); }
 
-    public static CssProperty text_align(TextAlign value) { return prop("text-align", value); }
-    public static CssProperty text_align(CharSequence value) { return prop("text-align", value); }
+    public static CssProperty text_align(TextAlign value) { return prop(PropertyName.TEXT_ALIGN, value); }
+    public static CssProperty text_align(CharSequence value) { return prop(PropertyName.TEXT_ALIGN, value); }
 
-    public static CssProperty text_decoration(CharSequence value) { return prop("text-decoration", value); }
-    public static CssProperty line_height(CharSequence value) { return prop("line-height", value); }
+    public static CssProperty text_decoration(CharSequence value) { return prop(PropertyName.TEXT_DECORATION, value); }
+    public static CssProperty line_height(CharSequence value) { return prop(PropertyName.LINE_HEIGHT, value); }
 
     // --- Box Model (Margin, Padding, Border) ---
-    public static CssProperty margin(CharSequence... values) { return prop("margin", joinValues(values)); }
-    public static CssProperty margin_top(CharSequence value) { return prop("margin-top", value); }
-    public static CssProperty margin_right(CharSequence value) { return prop("margin-right", value); }
-    public static CssProperty margin_bottom(CharSequence value) { return prop("margin-bottom", value); }
-    public static CssProperty margin_left(CharSequence value) { return prop("margin-left", value); }
-
-    public static CssProperty padding(CharSequence... values) { return prop("padding", joinValues(values)); }
-    public static CssProperty padding_top(CharSequence value) { return prop("padding-top", value); }
-    public static CssProperty padding_right(CharSequence value) { return prop("padding-right", value); }
-    public static CssProperty padding_bottom(CharSequence value) { return prop("padding-bottom", value); }
-    public static CssProperty padding_left(CharSequence value) { return prop("padding-left", value); }
-
-    public static CssProperty border(CharSequence... values) { return prop("border", joinValues(values)); }
-    public static CssProperty border_color(CharSequence value) { return prop("border-color", value); }
-    public static CssProperty border_radius(CharSequence... values) { return prop("border-radius", joinValues(values)); }
-    public static CssProperty outline(CharSequence value) { return prop("outline", value); }
+    public static CssProperty margin(CharSequence... values) { return prop(PropertyName.MARGIN, joinValues(values)); }
+    public static CssProperty margin_top(CharSequence value) { return prop(PropertyName.MARGIN_TOP, value); }
+    public static CssProperty margin_right(CharSequence value) { return prop(PropertyName.MARGIN_RIGHT, value); }
+    public static CssProperty margin_bottom(CharSequence value) { return prop(PropertyName.MARGIN_BOTTOM, value); }
+    public static CssProperty margin_left(CharSequence value) { return prop(PropertyName.MARGIN_LEFT, value); }
+
+    public static CssProperty padding(CharSequence... values) { return prop(PropertyName.PADDING, joinValues(values)); }
+    public static CssProperty padding_top(CharSequence value) { return prop(PropertyName.PADDING_TOP, value); }
+    public static CssProperty padding_right(CharSequence value) { return prop(PropertyName.PADDING_RIGHT, value); }
+    public static CssProperty padding_bottom(CharSequence value) { return prop(PropertyName.PADDING_BOTTOM, value); }
+    public static CssProperty padding_left(CharSequence value) { return prop(PropertyName.PADDING_LEFT, value); }
+
+    public static CssProperty border(CharSequence... values) { return prop(PropertyName.BORDER, joinValues(values)); }
+    public static CssProperty border_color(CharSequence value) { return prop(PropertyName.BORDER_COLOR, value); }
+    public static CssProperty border_radius(CharSequence... values) { return prop(PropertyName.BORDER_RADIUS, joinValues(values)); }
+    public static CssProperty outline(CharSequence value) { return prop(PropertyName.OUTLINE, value); }
 
     // --- Layout ---
-    public static CssProperty display(Display value) { return prop("display", value); }
-    public static CssProperty display(CharSequence value) { return prop("display", value); }
-
-    public static CssProperty position(Position value) { return prop("position", value); }
-    public static CssProperty position(CharSequence value) { return prop("position", value); }
-
-    public static CssProperty top(CharSequence value) { return prop("top", value); }
-    public static CssProperty right(CharSequence value) { return prop("right", value); }
-    public static CssProperty bottom(CharSequence value) { return prop("bottom", value); }
-    public static CssProperty left(CharSequence value) { return prop("left", value); }
-
-    public static CssProperty width(CharSequence value) { return prop("width", value); }
-    public static CssProperty height(CharSequence value) { return prop("height", value); }
-    public static CssProperty min_width(CharSequence value) { return prop("min-width", value); }
-    public static CssProperty min_height(CharSequence value) { return prop("min-height", value); }
-    public static CssProperty max_width(CharSequence value) { return prop("max-width", value); }
-    public static CssProperty max_height(CharSequence value) { return prop("max-height", value); }
+    public static CssProperty display(Display value) { return prop(PropertyName.DISPLAY, value); }
+    public static CssProperty display(CharSequence value) { return prop(PropertyName.DISPLAY, value); }
+
+    public static CssProperty position(Position value) { return prop(PropertyName.POSITION, value); }
+    public static CssProperty position(CharSequence value) { return prop(PropertyName.POSITION, value); }
+
+    public static CssProperty top(CharSequence value) { return prop(PropertyName.TOP, value); }
+    public static CssProperty right(CharSequence value) { return prop(PropertyName.RIGHT, value); }
+    public static CssProperty bottom(CharSequence value) { return prop(PropertyName.BOTTOM, value); }
+    public static CssProperty left(CharSequence value) { return prop(PropertyName.LEFT, value); }
+
+    public static CssProperty width(CharSequence value) { return prop(PropertyName.WIDTH, value); }
+    public static CssProperty height(CharSequence value) { return prop(PropertyName.HEIGHT, value); }
+    public static CssProperty min_width(CharSequence value) { return prop(PropertyName.MIN_WIDTH, value); }
+    public static CssProperty min_height(CharSequence value) { return prop(PropertyName.MIN_HEIGHT, value); }
+    public static CssProperty max_width(CharSequence value) { return prop(PropertyName.MAX_WIDTH, value); }
+    public static CssProperty max_height(CharSequence value) { return prop(PropertyName.MAX_HEIGHT, value); }
     
     // --- Flexbox ---
-    public static CssProperty flex_direction(FlexDirection value) { return prop("flex-direction", value); }
-    public static CssProperty flex_direction(CharSequence value) { return prop("flex-direction", value); }
+    public static CssProperty flex_direction(FlexDirection value) { return prop(PropertyName.FLEX_DIRECTION, value); }
+    public static CssProperty flex_direction(CharSequence value) { return prop(PropertyName.FLEX_DIRECTION, value); }
 
-    public static CssProperty justify_content(JustifyContent value) { return prop("justify-content", value); }
-    public static CssProperty justify_content(CharSequence value) { return prop("justify-content", value); }
+    public static CssProperty justify_content(JustifyContent value) { return prop(PropertyName.JUSTIFY_CONTENT, value); }
+    public static CssProperty justify_content(CharSequence value) { return prop(PropertyName.JUSTIFY_CONTENT, value); }
 
-    public static CssProperty align_items(AlignItems value) { return prop("align-items", value); }
-    public static CssProperty align_items(CharSequence value) { return prop("align-items", value); }
+    public static CssProperty align_items(AlignItems value) { return prop(PropertyName.ALIGN_ITEMS, value); }
+    public static CssProperty align_items(CharSequence value) { return prop(PropertyName.ALIGN_ITEMS, value); }
 
-    public static CssProperty gap(CharSequence value) { return prop("gap", value); }
+    public static CssProperty gap(CharSequence value) { return prop(PropertyName.GAP, value); }
 
     // --- Overflow & Cursor ---
-    public static CssProperty overflow(Overflow value) { return prop("overflow", value); }
-    public static CssProperty overflow(CharSequence value) { return prop("overflow", value); }
+    public static CssProperty overflow(Overflow value) { return prop(PropertyName.OVERFLOW, value); }
+    public static CssProperty overflow(CharSequence value) { return prop(PropertyName.OVERFLOW, value); }
 
-    public static CssProperty overflow_x(Overflow value) { return prop("overflow-x", value); }
-    public static CssProperty overflow_x(CharSequence value) { return prop("overflow-x", value); }
+    public static CssProperty overflow_x(Overflow value) { return prop(PropertyName.OVERFLOW_X, value); }
+    public static CssProperty overflow_x(CharSequence value) { return prop(PropertyName.OVERFLOW_X, value); }
 
-    public static CssProperty overflow_y(Overflow value) { return prop("overflow-y", value); }
-    public static CssProperty overflow_y(CharSequence value) { return prop("overflow-y", value); }
+    public static CssProperty overflow_y(Overflow value) { return prop(PropertyName.OVERFLOW_Y, value); }
+    public static CssProperty overflow_y(CharSequence value) { return prop(PropertyName.OVERFLOW_Y, value); }
 
-    public static CssProperty cursor(Cursor value) { return prop("cursor", value); }
-    public static CssProperty cursor(CharSequence value) { return prop("cursor", value); }
+    public static CssProperty cursor(Cursor value) { return prop(PropertyName.CURSOR, value); }
+    public static CssProperty cursor(CharSequence value) { return prop(PropertyName.CURSOR, value); }
 
     // --- Transforms & Filters ---
-    public static CssProperty transform(CharSequence value) { return prop("transform", value); }
-    public static CssProperty filter(CharSequence value) { return prop("filter", value); }
+    public static CssProperty transform(CharSequence value) { return prop(PropertyName.TRANSFORM, value); }
+    public static CssProperty filter(CharSequence value) { return prop(PropertyName.FILTER, value); }
 
     // --- Pseudo-element content ---
-    public static CssProperty content(CharSequence value) { return prop("content", value); }
+    public static CssProperty content(CharSequence value) { return prop(PropertyName.CONTENT, value); }
 
     // --- Opacity ---
-    public static CssProperty opacity(Number value) { return prop("opacity", value.toString()); }
-    public static CssProperty opacity(CharSequence value) { return prop("opacity", value); }
+    public static CssProperty opacity(Number value) { return prop(PropertyName.OPACITY, CssNumber.toString(value)); }
+    public static CssProperty opacity(CharSequence value) { return prop(PropertyName.OPACITY, value); }
 
     // --- Animation ---
-    public static CssProperty animation(CharSequence value) { return prop("animation", value); }
-    public static CssProperty animation_name(CharSequence value) { return prop("animation-name", value); }
-    public static CssProperty animation_duration(CharSequence value) { return prop("animation-duration", value); }
-    public static CssProperty animation_timing_function(CharSequence value) { return prop("animation-timing-function", value); }
-    public static CssProperty animation_delay(CharSequence value) { return prop("animation-delay", value); }
-    public static CssProperty animation_iteration_count(CharSequence value) { return prop("animation-iteration-count", value); }
-    public static CssProperty animation_direction(CharSequence value) { return prop("animation-direction", value); }
-    public static CssProperty animation_fill_mode(CharSequence value) { return prop("animation-fill-mode", value); }
+    public static CssProperty animation(CharSequence value) { return prop(PropertyName.ANIMATION, value); }
+    public static CssProperty animation_name(CharSequence value) { return prop(PropertyName.ANIMATION_NAME, value); }
+    public static CssProperty animation_duration(CharSequence value) { return prop(PropertyName.ANIMATION_DURATION, value); }
+    public static CssProperty animation_timing_function(CharSequence value) { return prop(PropertyName.ANIMATION_TIMING_FUNCTION, value); }
+    public static CssProperty animation_delay(CharSequence value) { return prop(PropertyName.ANIMATION_DELAY, value); }
+    public static CssProperty animation_iteration_count(CharSequence value) { return prop(PropertyName.ANIMATION_ITERATION_COUNT, value); }
+    public static CssProperty animation_direction(CharSequence value) { return prop(PropertyName.ANIMATION_DIRECTION, value); }
+    public static CssProperty animation_fill_mode(CharSequence value) { return prop(PropertyName.ANIMATION_FILL_MODE, value); }
 
     // --- Custom ---
     /**
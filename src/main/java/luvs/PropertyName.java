@@ -0,0 +1,67 @@
+package luvs;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registry of the property names luvs knows, with small integer ids (the ordinals).
+ *
+ * P creates its CssProperty instances from these constants, so the name needs no
+ * trimming or validation, its UTF-8 bytes are encoded once, and the optimizer can work
+ * on ids instead of comparing Strings. CssProperty instances created with any other
+ * name that happens to be known are mapped to the same constant.
+ */
+public enum PropertyName {
+    ALIGN_ITEMS, ANIMATION, ANIMATION_DELAY, ANIMATION_DIRECTION, ANIMATION_DURATION,
+    ANIMATION_FILL_MODE, ANIMATION_ITERATION_COUNT, ANIMATION_NAME, ANIMATION_TIMING_FUNCTION,
+    BACKGROUND, BACKGROUND_COLOR, BACKGROUND_IMAGE, BORDER, BORDER_BOTTOM, BORDER_BOTTOM_COLOR,
+    BORDER_BOTTOM_LEFT_RADIUS, BORDER_BOTTOM_RIGHT_RADIUS, BORDER_BOTTOM_STYLE, BORDER_BOTTOM_WIDTH,
+    BORDER_COLOR, BORDER_LEFT, BORDER_LEFT_COLOR, BORDER_LEFT_STYLE, BORDER_LEFT_WIDTH,
+    BORDER_RADIUS, BORDER_RIGHT, BORDER_RIGHT_COLOR, BORDER_RIGHT_STYLE, BORDER_RIGHT_WIDTH,
+    BORDER_STYLE, BORDER_TOP, BORDER_TOP_COLOR, BORDER_TOP_LEFT_RADIUS, BORDER_TOP_RIGHT_RADIUS,
+    BORDER_TOP_STYLE, BORDER_TOP_WIDTH, BORDER_WIDTH, BOTTOM, COLOR, COLUMN_GAP, CONTENT, CURSOR,
+    DISPLAY, FILTER, FLEX, FLEX_BASIS, FLEX_DIRECTION, FLEX_GROW, FLEX_SHRINK, FONT_FAMILY,
+    FONT_SIZE, FONT_WEIGHT, GAP, HEIGHT, INSET, JUSTIFY_CONTENT, LEFT, LINE_HEIGHT, MARGIN,
+    MARGIN_BOTTOM, MARGIN_LEFT, MARGIN_RIGHT, MARGIN_TOP, MAX_HEIGHT, MAX_WIDTH, MIN_HEIGHT,
+    MIN_WIDTH, OPACITY, OUTLINE, OVERFLOW, OVERFLOW_X, OVERFLOW_Y, PADDING, PADDING_BOTTOM,
+    PADDING_LEFT, PADDING_RIGHT, PADDING_TOP, POSITION, RIGHT, ROW_GAP, TEXT_ALIGN, TEXT_DECORATION,
+    TOP, TRANSFORM, WIDTH;
+
+    private static final Map<String, PropertyName> BY_CSS = new HashMap<>();
+
+    static {
+        for (PropertyName name : values()) {
+            BY_CSS.put(name.css, name);
+        }
+    }
+
+    private final String css;
+    final byte[] utf8;
+    final int group; // CssOptimizer.conflictGroup(css), computed once
+
+    PropertyName() {
+        this.css = name().toLowerCase(Locale.ROOT).replace('_', '-');
+        this.utf8 = Utf8Out.encode(css);
+        this.group = CssOptimizer.conflictGroup(css);
+    }
+
+    /**
+     * The CSS property name, e.g. "background-color".
+     */
+    public String css() {
+        return css;
+    }
+
+    /**
+     * The constant for a CSS property name, or null if the name is not registered.
+     */
+    public static PropertyName of(String css) {
+        return BY_CSS.get(css);
+    }
+
+    @Override
+    public String toString() {
+        return css;
+    }
+}
@@ -0,0 +1,226 @@
+package luvs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent cache of rendered stylesheets, bounded by the total UTF-8 size of the rendered text.
+ *
+ * Keys are caller-supplied (a tenant or theme id) or the CssRules themselves, which
+ * compare structurally. Concurrent misses on the same key render once: the first caller
+ * renders, the others wait for its result, or get the exception it failed with. No
+ * synchronized blocks are involved, so waiting virtual threads do not pin their carrier.
+ *
+ * When the cache grows past maxBytes it evicts the least frequently used entries; hit
+ * counts are halved on every eviction pass so that entries popular long ago age out.
+ *
+ * Usage:
+ * <pre>
+ * static final RenderCache&lt;String&gt; CSS = new RenderCache&lt;&gt;(16 * 1024 * 1024);
+ * String css = CSS.render(tenantId, themeFor(tenantId), RenderOptions.COMPACT);
+ * </pre>
+ */
+public final class RenderCache<K> {
+
+    private final long maxBytes;
+    private final ConcurrentHashMap<Key<K>, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * maxBytes bounds the summed UTF-8 length of the cached texts.
+     */
+    public RenderCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cached rendering for key and options, rendering the rules on a miss.
+     */
+    public String render(K key, CssRules rules, RenderOptions options) {
+        Key<K> k = new Key<>(Objects.requireNonNull(key, "Key cannot be null"), options);
+        Entry entry = entries.get(k);
+        if (entry != null) {
+            hits.increment();
+            entry.frequency++; // racy on purpose: an approximate count is enough
+            return await(entry);
+        }
+        Entry created = new Entry();
+        entry = entries.putIfAbsent(k, created);
+        if (entry != null) {
+            hits.increment();
+            entry.frequency++;
+            return await(entry);
+        }
+        misses.increment();
+        String text;
+        try {
+            text = rules.render(options);
+        } catch (RuntimeException | Error e) {
+            entries.remove(k, created);
+            created.text.completeExceptionally(e);
+            throw e;
+        }
+        int size = Utf8Out.encodedLength(text);
+        created.weight = size;
+        created.text.complete(text);
+        if (weight.addAndGet(size) > maxBytes) {
+            evict(created);
+        }
+        return text;
+    }
+
+    // Waiters get the renderer's own exception rather than a CompletionException
+    private static String await(Entry entry) {
+        try {
+            return entry.text.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs eviction passes while the cache is over its bound. A thread that finds
+     * another one evicting leaves its excess to it: the holder re-checks the bound
+     * after releasing the lock, so no insert is left over the bound.
+     */
+    private void evict(Entry added) {
+        while (weight.get() > maxBytes && evictionLock.tryLock()) {
+            boolean evicted;
+            try {
+                evicted = evictPass(added);
+            } finally {
+                evictionLock.unlock();
+            }
+            if (!evicted) {
+                return; // only entries that cannot be evicted are left
+            }
+        }
+    }
+
+    /**
+     * Evicts the least frequently used entries, never the one just added (it has
+     * had no chance to be hit yet). Returns whether anything was evicted.
+     */
+    private boolean evictPass(Entry added) {
+        boolean evicted = false;
+        List<Candidate<K>> candidates = new ArrayList<>();
+        for (Map.Entry<Key<K>, Entry> e : entries.entrySet()) {
+            Entry entry = e.getValue();
+            if (entry != added && entry.text.isDone()) {
+                candidates.add(new Candidate<>(e.getKey(), entry));
+            }
+        }
+        // Sorted on a snapshot: hits keep incrementing the live counts meanwhile
+        candidates.sort((x, y) -> Integer.compare(x.frequency, y.frequency));
+        // Evict below the bound with some headroom, so every insert does not trigger a pass
+        long target = maxBytes - maxBytes / 8;
+        for (Candidate<K> c : candidates) {
+            if (weight.get() <= target) {
+                break;
+            }
+            if (entries.remove(c.key, c.entry)) {
+                weight.addAndGet(-c.entry.weight);
+                evictions.increment();
+                evicted = true;
+            }
+        }
+        for (Entry e : entries.values()) {
+            e.frequency >>>= 1;
+        }
+        return evicted;
+    }
+
+    public void invalidateAll() {
+        for (Map.Entry<Key<K>, Entry> e : entries.entrySet()) {
+            if (e.getValue().text.isDone() && entries.remove(e.getKey(), e.getValue())) {
+                weight.addAndGet(-e.getValue().weight);
+            }
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Number of cached renderings.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Summed UTF-8 length of the cached texts.
+     */
+    public long weightedSize() {
+        return weight.get();
+    }
+
+    private static final class Entry {
+        final CompletableFuture<String> text = new CompletableFuture<>();
+        volatile int weight; // set before text completes
+        volatile int frequency;
+    }
+
+    private static final class Candidate<K> {
+        final Key<K> key;
+        final Entry entry;
+        final int frequency;
+
+        Candidate(Key<K> key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.frequency = entry.frequency;
+        }
+    }
+
+    private static final class Key<K> {
+        final K key;
+        final RenderOptions options;
+
+        Key(K key, RenderOptions options) {
+            this.key = key;
+            this.options = options;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key<?>) o).key.equals(key) && ((Key<?>) o).options == options;
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() * 31 + System.identityHashCode(options);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package luvs;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Layout used when rendering CssRules, CssRule, Keyframes and CssProperty.
+ *
+ * PRETTY (the default) is the indented, one-declaration-per-line layout meant for
+ * development. COMPACT emits minimal whitespace, drops the last semicolon of each
+ * block and omits rules without properties, for production output.
+ *
+ * Usage:
+ * <pre>
+ * styles.renderTo(writer, RenderOptions.COMPACT)
+ * styles.render(RenderOptions.PRETTY.withIndent("  "))
+ * </pre>
+ */
+public final class RenderOptions {
+
+    public static final RenderOptions PRETTY = new RenderOptions(false, "    ", false, false);
+
+    public static final RenderOptions COMPACT = new RenderOptions(true, "", true, true);
+
+    private final boolean compact;
+    private final String indent;
+    private final boolean dropLastSemicolon;
+    private final boolean omitEmptyRules;
+
+    // Layout tokens, resolved once so the renderers only append constants.
+    final String colon;
+    final String ruleOpen;
+    final String declIndent;
+    final String declEnd;
+    final String ruleClose;
+    final String itemSeparator;
+    final String keyframesOpen;
+    final String stepSeparator;
+    final String keyframesClose;
+    final String stepOpen;
+    final String stepDeclSeparator;
+    final String stepClose;
+    // The same tokens pre-encoded as UTF-8, for the byte renderer.
+    final Utf8Tokens utf8;
+
+    private RenderOptions(boolean compact, String indent, boolean dropLastSemicolon, boolean omitEmptyRules) {
+        this.compact = compact;
+        this.indent = indent;
+        this.dropLastSemicolon = dropLastSemicolon;
+        this.omitEmptyRules = omitEmptyRules;
+        this.colon = compact ? ":" : ": ";
+        this.ruleOpen = compact ? "{" : " {\n";
+        this.declIndent = compact ? "" : indent;
+        this.declEnd = compact ? "" : "\n";
+        this.ruleClose = "}";
+        this.itemSeparator = compact ? "" : "\n\n";
+        this.keyframesOpen = compact ? "{" : " {\n  ";
+        this.stepSeparator = compact ? "" : "\n  ";
+        this.keyframesClose = compact ? "}" : "\n}";
+        this.stepOpen = compact ? "{" : " { ";
+        this.stepDeclSeparator = compact ? "" : " ";
+        this.stepClose = compact ? "}" : " }";
+        this.utf8 = new Utf8Tokens(this);
+    }
+
+    /**
+     * Returns a copy using the given indentation for declarations inside a rule.
+     * Has no effect on compact output.
+     */
+    public RenderOptions withIndent(String indent) {
+        Objects.requireNonNull(indent, "Indent cannot be null");
+        return new RenderOptions(compact, indent, dropLastSemicolon, omitEmptyRules);
+    }
+
+    /**
+     * Returns a copy that keeps or drops the semicolon after the last declaration of a block.
+     */
+    public RenderOptions withDropLastSemicolon(boolean dropLastSemicolon) {
+        return new RenderOptions(compact, indent, dropLastSemicolon, omitEmptyRules);
+    }
+
+    /**
+     * Returns a copy that keeps or omits rules without any property.
+     */
+    public RenderOptions withOmitEmptyRules(boolean omitEmptyRules) {
+        return new RenderOptions(compact, indent, dropLastSemicolon, omitEmptyRules);
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public boolean isDropLastSemicolon() {
+        return dropLastSemicolon;
+    }
+
+    public boolean isOmitEmptyRules() {
+        return omitEmptyRules;
+    }
+
+    /**
+     * Appends the semicolon ending declaration i of a block of the given size, if any.
+     */
+    void endDeclaration(Appendable out, int i, int count) throws IOException {
+        if (!dropLastSemicolon || i < count - 1) {
+            out.append(';');
+        }
+    }
+
+    void endDeclaration(Utf8Out out, int i, int count) throws IOException {
+        if (!dropLastSemicolon || i < count - 1) {
+            out.write(';');
+        }
+    }
+
+    static final class Utf8Tokens {
+        final byte[] colon;
+        final byte[] ruleOpen;
+        final byte[] declIndent;
+        final byte[] declEnd;
+        final byte[] ruleClose;
+        final byte[] itemSeparator;
+        final byte[] keyframesOpen;
+        final byte[] stepSeparator;
+        final byte[] keyframesClose;
+        final byte[] stepOpen;
+        final byte[] stepDeclSeparator;
+        final byte[] stepClose;
+
+        private Utf8Tokens(RenderOptions options) {
+            this.colon = Utf8Out.encode(options.colon);
+            this.ruleOpen = Utf8Out.encode(options.ruleOpen);
+            this.declIndent = Utf8Out.encode(options.declIndent);
+            this.declEnd = Utf8Out.encode(options.declEnd);
+            this.ruleClose = Utf8Out.encode(options.ruleClose);
+            this.itemSeparator = Utf8Out.encode(options.itemSeparator);
+            this.keyframesOpen = Utf8Out.encode(options.keyframesOpen);
+            this.stepSeparator = Utf8Out.encode(options.stepSeparator);
+            this.keyframesClose = Utf8Out.encode(options.keyframesClose);
+            this.stepOpen = Utf8Out.encode(options.stepOpen);
+            this.stepDeclSeparator = Utf8Out.encode(options.stepDeclSeparator);
+            this.stepClose = Utf8Out.encode(options.stepClose);
+        }
+    }
+}
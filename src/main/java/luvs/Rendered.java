@@ -0,0 +1,26 @@
+package luvs;
+
+/**
+ * Memoized rendering of an immutable style object, for one RenderOptions.
+ *
+ * Holders publish it through a plain field (racy single-check, as String.hashCode
+ * does): all fields are final, so a racing thread sees either null or a complete
+ * instance and at worst renders once more. No locking involved.
+ */
+final class Rendered {
+
+    final RenderOptions options;
+    final String text;
+
+    Rendered(RenderOptions options, String text) {
+        this.options = options;
+        this.text = text;
+    }
+
+    /**
+     * Returns the text if it was rendered with these options, otherwise null.
+     */
+    static String textFor(Rendered rendered, RenderOptions options) {
+        return rendered != null && rendered.options == options ? rendered.text : null;
+    }
+}
@@ -1,19 +1,37 @@
 package luvs;
 
-import java.util.stream.Stream;
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import luvx.DelegatedCharSeq;
 
 /**
  * Fluent API for building CSS selectors and rules.
  *
  * Usage:
  *   selector(center, ">", div).rule(color("blue"), margin(px(10)))
+ *
+ * A Selector is itself a CharSequence (its built text), so rules keep the Selector
+ * rather than a String and its parts stay available, e.g. for CssRules.retainClasses().
  */
-public final class Selector {
+public final class Selector implements DelegatedCharSeq {
+
+    private static final Selector EMPTY = new Selector(null, "", false);
 
-    private final CharSequence[] parts;
+    // Persistent list: each Selector is the last part plus a pointer to the shared
+    // prefix, so chaining is O(1) and never copies the parts before it.
+    private final Selector prefix;
+    private final CharSequence part;
+    private final boolean attached; // joined to the previous part without a space (pseudo-classes...)
+    private final int size;         // parts in this selector, prefix included
+    private String built; // memoized build(), racy single-check like String.hashCode
+    private int hash;     // cached hashCode(), 0 until computed
 
-    private Selector(CharSequence... parts) {
-        this.parts = parts;
+    private Selector(Selector prefix, CharSequence part, boolean attached) {
+        this.prefix = prefix;
+        this.part = part;
+        this.attached = attached;
+        this.size = prefix == null ? 1 : prefix.size + 1;
     }
 
     /**
@@ -21,7 +39,14 @@ public final class Selector {
      * Only accepts CharSequence - strings or enum constants implementing DelegatedCharSeq.
      */
     public static Selector selector(CharSequence... parts) {
-        return new Selector(parts);
+        if (parts.length == 0) {
+            return EMPTY;
+        }
+        Selector selector = new Selector(null, parts[0], false);
+        for (int i = 1; i < parts.length; i++) {
+            selector = selector.then(parts[i]);
+        }
+        return selector;
     }
 
     public CssRule ____(CssProperty... properties) {
@@ -32,7 +57,7 @@ public final class Selector {
      * Creates a CSS rule from this selector with properties.
      */
     public CssRule rule(CssProperty... properties) {
-        return new CssRule(build(), properties);
+        return new CssRule(this, properties);
     }
 
     // ========== Chaining DSL Methods ==========
@@ -43,90 +68,81 @@ public final class Selector {
      * Usage: selector(container).child(div, highlight) for .container > div.highlight
      */
     public Selector child(CharSequence... childElements) {
-        CharSequence[] newParts = Stream.concat(
-            Stream.of(parts),
-            Stream.concat(Stream.of(">"), Stream.of(childElements))
-        ).toArray(CharSequence[]::new);
-        return new Selector(newParts);
+        Selector selector = then(">");
+        for (CharSequence childElement : childElements) {
+            selector = selector.then(childElement);
+        }
+        return selector;
     }
 
     /**
      * Descendant combinator: current descendant
      */
     public Selector descendant(CharSequence descendantElement) {
-        return new Selector(Stream.concat(
-            Stream.of(parts),
-            Stream.of(descendantElement)
-        ).toArray(CharSequence[]::new));
+        return then(descendantElement);
     }
 
     /**
      * Adjacent sibling combinator: current + sibling
      */
     public Selector adjacent(CharSequence siblingElement) {
-        return new Selector(Stream.concat(
-            Stream.of(parts),
-            Stream.of("+", siblingElement)
-        ).toArray(CharSequence[]::new));
+        return then("+").then(siblingElement);
     }
 
     /**
      * General sibling combinator: current ~ sibling
      */
     public Selector sibling(CharSequence siblingElement) {
-        return new Selector(Stream.concat(
-            Stream.of(parts),
-            Stream.of("~", siblingElement)
-        ).toArray(CharSequence[]::new));
+        return then("~").then(siblingElement);
     }
 
     /**
      * Pseudo-class :hover
      */
     public Selector hover() {
-        return appendPseudo(":hover");
+        return attach(":hover");
     }
 
     /**
      * Pseudo-class :focus
      */
     public Selector focus() {
-        return appendPseudo(":focus");
+        return attach(":focus");
     }
 
     /**
      * Pseudo-class :active
      */
     public Selector active() {
-        return appendPseudo(":active");
+        return attach(":active");
     }
 
     /**
      * Pseudo-class :first-child
      */
     public Selector firstChild() {
-        return appendPseudo(":first-child");
+        return attach(":first-child");
     }
 
     /**
      * Pseudo-class :last-child
      */
     public Selector lastChild() {
-        return appendPseudo(":last-child");
+        return attach(":last-child");
     }
 
     /**
      * Pseudo-class :nth-child(n)
      */
     public Selector nthChild(CharSequence n) {
-        return appendPseudo(":nth-child(" + n + ")");
+        return attach(":nth-child(" + n + ")");
     }
 
     /**
      * Pseudo-class :nth-of-type(n)
      */
     public Selector nthOfType(CharSequence n) {
-        return appendPseudo(":nth-of-type(" + n + ")");
+        return attach(":nth-of-type(" + n + ")");
     }
 
     /**
@@ -135,9 +151,9 @@ public final class Selector {
      */
     public Selector not(CharSequence selector) {
         if (selector instanceof CssClass) {
-            return appendPseudo(":not(" + ((CssClass) selector).getSelector() + ")");
+            return attach(":not(" + ((CssClass) selector).getSelector() + ")");
         }
-        return appendPseudo(":not(" + selector + ")");
+        return attach(":not(" + selector + ")");
     }
 
     // ========== Pseudo-elements ==========
@@ -146,65 +162,231 @@ public final class Selector {
      * Pseudo-element ::before
      */
     public Selector before() {
-        return appendPseudo("::before");
+        return attach("::before");
     }
 
     /**
      * Pseudo-element ::after
      */
     public Selector after() {
-        return appendPseudo("::after");
+        return attach("::after");
     }
 
     /**
      * Pseudo-element ::first-line
      */
     public Selector firstLine() {
-        return appendPseudo("::first-line");
+        return attach("::first-line");
     }
 
     /**
      * Pseudo-element ::first-letter
      */
     public Selector firstLetter() {
-        return appendPseudo("::first-letter");
+        return attach("::first-letter");
     }
 
     /**
      * Pseudo-element ::selection
      */
     public Selector selection() {
-        return appendPseudo("::selection");
+        return attach("::selection");
     }
 
     /**
      * Pseudo-element ::placeholder
      */
     public Selector placeholder() {
-        return appendPseudo("::placeholder");
+        return attach("::placeholder");
+    }
+
+    /**
+     * Appends a space-separated part.
+     */
+    private Selector then(CharSequence nextPart) {
+        return new Selector(this, nextPart, false);
     }
 
-    private Selector appendPseudo(String pseudo) {
-        CharSequence[] newParts = parts.clone();
-        int lastIdx = newParts.length - 1;
-        newParts[lastIdx] = newParts[lastIdx].toString() + pseudo;
-        return new Selector(newParts);
+    /**
+     * Appends a suffix glued to the last part, e.g. ":hover" or "[type=\"text\"]".
+     */
+    Selector attach(CharSequence suffix) {
+        return new Selector(this, suffix, true);
     }
 
     /**
-     * Builds the CSS selector string.
+     * Builds the CSS selector string, once per Selector.
      * CssClass constants get dot prefix, plain strings used as-is.
+     * The parts are sized first, then copied in a single pass into an exactly sized buffer.
      */
     public String build() {
-        return Stream.of(parts)
-            .map(part -> {
-                if (part instanceof CssClass) {
-                    return "." + ((CssClass) part).getClassName();
+        String result = built;
+        if (result == null) {
+            result = buildParts();
+            built = result;
+        }
+        return result;
+    }
+
+    private String buildParts() {
+        Selector[] chain = new Selector[size];
+        int length = 0;
+        for (Selector s = this; s != null; s = s.prefix) {
+            chain[s.size - 1] = s;
+            length += s.textLength() + 1;
+        }
+        StringBuilder sb = new StringBuilder(length);
+        for (Selector s : chain) {
+            if (!s.attached && sb.length() > 0 && s.textLength() > 0) {
+                sb.append(' ');
+            }
+            s.appendText(sb);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Byte counterpart of build(): class and tag parts come from their pre-encoded bytes.
+     */
+    void writeTo(Utf8Out out) throws IOException {
+        writeParts(out);
+    }
+
+    // Returns whether anything was written, which decides the separating space
+    private boolean writeParts(Utf8Out out) throws IOException {
+        boolean written = prefix != null && prefix.writeParts(out);
+        if (part instanceof CssClass) {
+            if (!attached && written) {
+                out.write(' ');
+            }
+            out.write(CssClassNames.selectorBytes((CssClass) part));
+            return true;
+        }
+        if (textLength() == 0) {
+            return written;
+        }
+        if (!attached && written) {
+            out.write(' ');
+        }
+        out.writeText(part);
+        return true;
+    }
+
+    private int textLength() {
+        if (part instanceof CssClass) {
+            return ((CssClass) part).getClassName().length() + 1;
+        }
+        return text(part).length();
+    }
+
+    private void appendText(StringBuilder sb) {
+        if (part instanceof CssClass) {
+            sb.append('.').append(((CssClass) part).getClassName());
+        } else {
+            sb.append(text(part));
+        }
+    }
+
+    private static String text(CharSequence part) {
+        return part instanceof DelegatedCharSeq ? ((DelegatedCharSeq) part).delegatedCharSeqVal() : part.toString();
+    }
+
+    /**
+     * False when a class this selector requires is not used, so it cannot match anything.
+     * A selector list (parts with commas) can match when any of its alternatives can;
+     * classes inside parentheses (:not(...), :is(...)) are not required, and plain-text
+     * parts are unknown and never exclude a match.
+     */
+    boolean canMatch(Predicate<CssClass> used) {
+        Selector[] parts = new Selector[size];
+        for (Selector s = this; s != null; s = s.prefix) {
+            parts[s.size - 1] = s;
+        }
+        boolean alternativeCanMatch = true;
+        int depth = 0;
+        for (Selector s : parts) {
+            if (s.part instanceof CssClass) {
+                if (depth == 0 && !used.test((CssClass) s.part)) {
+                    alternativeCanMatch = false;
+                }
+            } else if (s.part instanceof Selector) {
+                if (depth == 0 && !((Selector) s.part).canMatch(used)) {
+                    alternativeCanMatch = false;
+                }
+            } else {
+                String text = text(s.part);
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    if (c == '(') {
+                        depth++;
+                    } else if (c == ')' && depth > 0) {
+                        depth--;
+                    } else if (c == ',' && depth == 0) {
+                        if (alternativeCanMatch) {
+                            return true;
+                        }
+                        alternativeCanMatch = true;
+                    }
                 }
-                return part.toString();
-            })
-            .reduce("", (a, b) -> a.isEmpty() ? b : a + " " + b)
-            .trim();
+            }
+        }
+        return alternativeCanMatch;
+    }
+
+    /**
+     * Passes every CssClass and HtmlTag part of this selector to the visitor.
+     */
+    void forEachReference(Consumer<CharSequence> visitor) {
+        for (Selector s = this; s != null; s = s.prefix) {
+            if (s.part instanceof CssClass || s.part instanceof HtmlTag) {
+                visitor.accept(s.part);
+            } else if (s.part instanceof Selector) {
+                ((Selector) s.part).forEachReference(visitor);
+            }
+        }
+    }
+
+    @Override
+    public String delegatedCharSeqVal() {
+        return build();
+    }
+
+    /**
+     * Equal when the parts are, one by one: CssClass and HtmlTag constants, nested
+     * selectors and text. Compared without building either selector.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Selector)) {
+            return false;
+        }
+        Selector a = this;
+        Selector b = (Selector) o;
+        if (a.size != b.size || a.hashCode() != b.hashCode()) {
+            return false;
+        }
+        for (; a != null; a = a.prefix, b = b.prefix) {
+            if (a == b) {
+                return true; // shared prefix
+            }
+            if (a.attached != b.attached || !a.part.equals(b.part)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = (prefix == null ? 1 : prefix.hashCode()) * 31 + part.hashCode() * 2 + (attached ? 1 : 0);
+            hash = h;
+        }
+        return h;
     }
 
     @Override
@@ -0,0 +1,57 @@
+package luvs;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Renders stylesheets at build time: luvs.processor.StaticStylesheetProcessor evaluates
+ * the named static CssRules fields (or static no-argument methods) of the given class and
+ * generates a class holding the rendered text and its UTF-8 bytes as constants, so at
+ * runtime a stylesheet costs a field load.
+ *
+ * The processor has to run the code that builds the stylesheets, so that class must
+ * already be compiled: keep styles in their own module and annotate any type of the
+ * module that serves them. This is also why the annotation goes on a type rather than
+ * on the fields themselves: a field of the code being compiled has no class file to
+ * load yet. Members and name must be Java identifiers, as they become the names of
+ * the generated class and its constants. If the styles need libraries besides luvs, list them in the
+ * luvs.classpath processor option.
+ *
+ * The processor is found through META-INF/services, which javac only honours by default
+ * up to JDK 22: from JDK 23 on, compile with -proc:full or name luvs on the processor
+ * path (annotationProcessorPaths in maven-compiler-plugin).
+ * <pre>
+ * &#64;StaticStylesheet(value = SiteStyles.class, members = {"SITE", "ADMIN"}, name = "SiteCss")
+ * final class Assets {}
+ * ...
+ * out.write(SiteCss.SITE);                     // String constant
+ * channel.write(SiteCss.SITE_UTF8.duplicate()); // read-only ByteBuffer
+ * </pre>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface StaticStylesheet {
+
+    /**
+     * Class declaring the stylesheets.
+     */
+    Class<?> value();
+
+    /**
+     * Names of static CssRules fields or static no-argument methods returning CssRules.
+     */
+    String[] members();
+
+    /**
+     * Simple name of the generated class, in the annotated type's package; defaults to
+     * the name of the value class followed by "Css".
+     */
+    String name() default "";
+
+    /**
+     * Render with RenderOptions.COMPACT (default) or PRETTY.
+     */
+    boolean compact() default true;
+}
@@ -0,0 +1,178 @@
+package luvs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import luvx.DelegatedCharSeq;
+
+/**
+ * Byte sink of the UTF-8 renderer. Constant tokens (layout punctuation, property names,
+ * enum values, HtmlTag names, CssClass selectors) are written from byte arrays encoded
+ * once; only free-form text goes through an encoding loop, with an ASCII fast path.
+ *
+ * Writes either through an internal buffer to an OutputStream, directly into a
+ * ByteBuffer, or into a growing array.
+ */
+final class Utf8Out {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_CACHED_NAMES = 1024;
+
+    // Per enum type, the UTF-8 text of each constant by ordinal; null for types whose text
+    // is not constant (CssClass names depend on CssClassNames).
+    private static final ClassValue<byte[][]> ENUM_TEXT = new ClassValue<byte[][]>() {
+        @Override
+        protected byte[][] computeValue(Class<?> type) {
+            if (!type.isEnum() || !DelegatedCharSeq.class.isAssignableFrom(type) || CssClass.class.isAssignableFrom(type)) {
+                return null;
+            }
+            Object[] constants = type.getEnumConstants();
+            byte[][] result = new byte[constants.length][];
+            for (int i = 0; i < constants.length; i++) {
+                result[i] = ((DelegatedCharSeq) constants[i]).delegatedCharSeqVal().getBytes(StandardCharsets.UTF_8);
+            }
+            return result;
+        }
+    };
+
+    private static final ConcurrentHashMap<String, byte[]> NAMES = new ConcurrentHashMap<>();
+
+    private final OutputStream stream;
+    private final ByteBuffer target;
+    private byte[] buffer;
+    private int count;
+
+    private Utf8Out(OutputStream stream, ByteBuffer target, int capacity) {
+        this.stream = stream;
+        this.target = target;
+        this.buffer = target == null ? new byte[capacity] : null;
+    }
+
+    static Utf8Out to(OutputStream stream) {
+        return new Utf8Out(stream, null, BUFFER_SIZE);
+    }
+
+    static Utf8Out to(ByteBuffer target) {
+        return new Utf8Out(null, target, 0);
+    }
+
+    static Utf8Out growing(int initialCapacity) {
+        return new Utf8Out(null, null, Math.max(initialCapacity, 16));
+    }
+
+    /**
+     * The UTF-8 bytes of a constant string, encoded once.
+     */
+    static byte[] encode(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Length of text once encoded, without encoding it.
+     */
+    static int encodedLength(String text) {
+        int length = text.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x800) {
+                // Surrogate pairs take 4 bytes, 2 per char
+                bytes += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                bytes++;
+            }
+        }
+        return bytes;
+    }
+
+    void write(byte[] bytes) throws IOException {
+        if (target != null) {
+            target.put(bytes);
+            return;
+        }
+        if (count + bytes.length > buffer.length) {
+            if (stream != null && bytes.length > BUFFER_SIZE / 2) {
+                flush();
+                stream.write(bytes);
+                return;
+            }
+            makeRoom(bytes.length);
+        }
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    void write(char ascii) throws IOException {
+        if (target != null) {
+            target.put((byte) ascii);
+            return;
+        }
+        if (count == buffer.length) {
+            makeRoom(1);
+        }
+        buffer[count++] = (byte) ascii;
+    }
+
+    /**
+     * Property names repeat across every rule: their bytes are cached by name.
+     */
+    void writeName(String name) throws IOException {
+        byte[] bytes = NAMES.get(name);
+        if (bytes == null) {
+            if (NAMES.size() >= MAX_CACHED_NAMES) {
+                writeText(name);
+                return;
+            }
+            bytes = NAMES.computeIfAbsent(name, Utf8Out::encode);
+        }
+        write(bytes);
+    }
+
+    /**
+     * Writes a value or selector part; constant enum values come from their cached bytes.
+     */
+    void writeText(CharSequence text) throws IOException {
+        if (text instanceof Enum) {
+            byte[][] constants = ENUM_TEXT.get(((Enum<?>) text).getDeclaringClass());
+            if (constants != null) {
+                write(constants[((Enum<?>) text).ordinal()]);
+                return;
+            }
+        }
+        String s = CssText.of(text);
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                write(s.substring(i).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            write(c);
+        }
+    }
+
+    private void makeRoom(int length) throws IOException {
+        if (stream != null) {
+            flush();
+        } else {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + length));
+        }
+    }
+
+    void flush() throws IOException {
+        if (stream != null && count > 0) {
+            stream.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    /**
+     * The bytes written so far, for growing sinks.
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+}
@@ -11,20 +11,42 @@ public final class V {
     private V() {} // Utility class
 
     // ========== Length Units ==========
-
-    public static CssUnit px(Number value) { return new Length(value, LengthUnit.PX); }
-    public static CssUnit rem(Number value) { return new Length(value, LengthUnit.REM); }
-    public static CssUnit em(Number value) { return new Length(value, LengthUnit.EM); }
-    public static CssUnit percent(Number value) { return new Length(value, LengthUnit.PERCENT); }
-    public static CssUnit vh(Number value) { return new Length(value, LengthUnit.VH); }
-    public static CssUnit vw(Number value) { return new Length(value, LengthUnit.VW); }
+    // int overloads return shared, pre-rendered instances for common values (see Length.of),
+    // double overloads avoid boxing; Number overloads remain for other numeric types.
+
+    public static CssUnit px(int value) { return Length.of(value, LengthUnit.PX); }
+    public static CssUnit px(double value) { return Length.of(value, LengthUnit.PX); }
+    public static CssUnit px(Number value) { return Length.of(value, LengthUnit.PX); }
+    public static CssUnit rem(int value) { return Length.of(value, LengthUnit.REM); }
+    public static CssUnit rem(double value) { return Length.of(value, LengthUnit.REM); }
+    public static CssUnit rem(Number value) { return Length.of(value, LengthUnit.REM); }
+    public static CssUnit em(int value) { return Length.of(value, LengthUnit.EM); }
+    public static CssUnit em(double value) { return Length.of(value, LengthUnit.EM); }
+    public static CssUnit em(Number value) { return Length.of(value, LengthUnit.EM); }
+    public static CssUnit percent(int value) { return Length.of(value, LengthUnit.PERCENT); }
+    public static CssUnit percent(double value) { return Length.of(value, LengthUnit.PERCENT); }
+    public static CssUnit percent(Number value) { return Length.of(value, LengthUnit.PERCENT); }
+    public static CssUnit vh(int value) { return Length.of(value, LengthUnit.VH); }
+    public static CssUnit vh(double value) { return Length.of(value, LengthUnit.VH); }
+    public static CssUnit vh(Number value) { return Length.of(value, LengthUnit.VH); }
+    public static CssUnit vw(int value) { return Length.of(value, LengthUnit.VW); }
+    public static CssUnit vw(double value) { return Length.of(value, LengthUnit.VW); }
+    public static CssUnit vw(Number value) { return Length.of(value, LengthUnit.VW); }
 
     // ========== Angle Units ==========
 
-    public static CssUnit deg(Number value) { return new Angle(value, AngleUnit.DEG); }
-    public static CssUnit rad(Number value) { return new Angle(value, AngleUnit.RAD); }
-    public static CssUnit grad(Number value) { return new Angle(value, AngleUnit.GRAD); }
-    public static CssUnit turn(Number value) { return new Angle(value, AngleUnit.TURN); }
+    public static CssUnit deg(int value) { return Angle.of(value, AngleUnit.DEG); }
+    public static CssUnit deg(double value) { return Angle.of(value, AngleUnit.DEG); }
+    public static CssUnit deg(Number value) { return Angle.of(value, AngleUnit.DEG); }
+    public static CssUnit rad(int value) { return Angle.of(value, AngleUnit.RAD); }
+    public static CssUnit rad(double value) { return Angle.of(value, AngleUnit.RAD); }
+    public static CssUnit rad(Number value) { return Angle.of(value, AngleUnit.RAD); }
+    public static CssUnit grad(int value) { return Angle.of(value, AngleUnit.GRAD); }
+    public static CssUnit grad(double value) { return Angle.of(value, AngleUnit.GRAD); }
+    public static CssUnit grad(Number value) { return Angle.of(value, AngleUnit.GRAD); }
+    public static CssUnit turn(int value) { return Angle.of(value, AngleUnit.TURN); }
+    public static CssUnit turn(double value) { return Angle.of(value, AngleUnit.TURN); }
+    public static CssUnit turn(Number value) { return Angle.of(value, AngleUnit.TURN); }
     
     // It's often useful to have a zero constant without a unit, as CSS allows it.
     public static final String ZERO = "0";
@@ -116,7 +138,8 @@ public final class V {
      * Usage: background_color(rgba(0, 0, 255, 0.5))
      */
     public static String rgba(int r, int g, int b, double alpha) {
-        return "rgba(" + r + ", " + g + ", " + b + ", " + alpha + ")";
+        StringBuilder sb = new StringBuilder(24).append("rgba(").append(r).append(", ").append(g).append(", ").append(b).append(", ");
+        return CssNumber.append(sb, alpha).append(')').toString();
     }
 
     /**
@@ -132,7 +155,8 @@ public final class V {
      * Usage: color(hsla(120, percent(100), percent(50), 0.8))
      */
     public static String hsla(int hue, CharSequence saturation, CharSequence lightness, double alpha) {
-        return "hsla(" + hue + ", " + saturation + ", " + lightness + ", " + alpha + ")";
+        StringBuilder sb = new StringBuilder(32).append("hsla(").append(hue).append(", ").append(saturation).append(", ").append(lightness).append(", ");
+        return CssNumber.append(sb, alpha).append(')').toString();
     }
 
     // ========== Gradient Functions ==========
@@ -172,105 +196,105 @@ public final class V {
     // ========== Transform Functions (chainable) ==========
 
     public static Transform rotate(CharSequence angle) {
-        return new Transform("rotate(" + angle + ")");
+        return Transform.empty().rotate(angle);
     }
 
     public static Transform rotateX(CharSequence angle) {
-        return new Transform("rotateX(" + angle + ")");
+        return Transform.empty().rotateX(angle);
     }
 
     public static Transform rotateY(CharSequence angle) {
-        return new Transform("rotateY(" + angle + ")");
+        return Transform.empty().rotateY(angle);
     }
 
     public static Transform rotateZ(CharSequence angle) {
-        return new Transform("rotateZ(" + angle + ")");
+        return Transform.empty().rotateZ(angle);
     }
 
     public static Transform scale(Number value) {
-        return new Transform("scale(" + value + ")");
+        return Transform.empty().scale(value);
     }
 
     public static Transform scale(Number x, Number y) {
-        return new Transform("scale(" + x + ", " + y + ")");
+        return Transform.empty().scale(x, y);
     }
 
     public static Transform scaleX(Number value) {
-        return new Transform("scaleX(" + value + ")");
+        return Transform.empty().scaleX(value);
     }
 
     public static Transform scaleY(Number value) {
-        return new Transform("scaleY(" + value + ")");
+        return Transform.empty().scaleY(value);
     }
 
     public static Transform translate(CharSequence x, CharSequence y) {
-        return new Transform("translate(" + x + ", " + y + ")");
+        return Transform.empty().translate(x, y);
     }
 
     public static Transform translateX(CharSequence value) {
-        return new Transform("translateX(" + value + ")");
+        return Transform.empty().translateX(value);
     }
 
     public static Transform translateY(CharSequence value) {
-        return new Transform("translateY(" + value + ")");
+        return Transform.empty().translateY(value);
     }
 
     public static Transform translateZ(CharSequence value) {
-        return new Transform("translateZ(" + value + ")");
+        return Transform.empty().translateZ(value);
     }
 
     public static Transform skew(CharSequence x, CharSequence y) {
-        return new Transform("skew(" + x + ", " + y + ")");
+        return Transform.empty().skew(x, y);
     }
 
     public static Transform skewX(CharSequence angle) {
-        return new Transform("skewX(" + angle + ")");
+        return Transform.empty().skewX(angle);
     }
 
     public static Transform skewY(CharSequence angle) {
-        return new Transform("skewY(" + angle + ")");
+        return Transform.empty().skewY(angle);
     }
 
     // ========== Filter Functions (chainable) ==========
 
     public static Filter blur(CharSequence radius) {
-        return new Filter("blur(" + radius + ")");
+        return Filter.empty().blur(radius);
     }
 
     public static Filter brightness(Number amount) {
-        return new Filter("brightness(" + amount + ")");
+        return Filter.empty().brightness(amount);
     }
 
     public static Filter contrast(Number amount) {
-        return new Filter("contrast(" + amount + ")");
+        return Filter.empty().contrast(amount);
     }
 
     public static Filter dropShadow(CharSequence offsetX, CharSequence offsetY, CharSequence blurRadius, CharSequence color) {
-        return new Filter("drop-shadow(" + offsetX + " " + offsetY + " " + blurRadius + " " + color + ")");
+        return Filter.empty().dropShadow(offsetX, offsetY, blurRadius, color);
     }
 
     public static Filter grayscale(Number amount) {
-        return new Filter("grayscale(" + amount + ")");
+        return Filter.empty().grayscale(amount);
     }
 
     public static Filter hueRotate(CharSequence angle) {
-        return new Filter("hue-rotate(" + angle + ")");
+        return Filter.empty().hueRotate(angle);
     }
 
     public static Filter invert(Number amount) {
-        return new Filter("invert(" + amount + ")");
+        return Filter.empty().invert(amount);
     }
 
     public static Filter opacity(Number amount) {
-        return new Filter("opacity(" + amount + ")");
+        return Filter.empty().opacity(amount);
     }
 
     public static Filter saturate(Number amount) {
-        return new Filter("saturate(" + amount + ")");
+        return Filter.empty().saturate(amount);
     }
 
     public static Filter sepia(Number amount) {
-        return new Filter("sepia(" + amount + ")");
+        return Filter.empty().sepia(amount);
     }
 
     // ========== Type-Safe Enum Constants ==========
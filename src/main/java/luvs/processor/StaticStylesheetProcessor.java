@@ -0,0 +1,244 @@
+package luvs.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypeException;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import luvs.CssRules;
+import luvs.RenderOptions;
+import luvs.StaticStylesheet;
+
+/**
+ * Annotation processor behind StaticStylesheet: loads the stylesheet class from the
+ * compile classpath, renders the named stylesheets and writes the holder class.
+ *
+ * The stylesheet class is loaded by a class loader over the classpath entry that holds
+ * it, plus the entries of the luvs.classpath option (-Aluvs.classpath=a.jar:b.jar) for
+ * whatever else it needs, with the processor's own loader (luvs) as parent.
+ *
+ * Registered through META-INF/services. Since JDK 23 javac no longer runs processors
+ * discovered on the classpath by default: pass -proc:full, or put luvs on an explicit
+ * processor path (-processorpath, or annotationProcessorPaths of maven-compiler-plugin).
+ */
+@SupportedAnnotationTypes("luvs.StaticStylesheet")
+@SupportedOptions(StaticStylesheetProcessor.CLASSPATH_OPTION)
+public final class StaticStylesheetProcessor extends AbstractProcessor {
+
+    static final String CLASSPATH_OPTION = "luvs.classpath";
+
+    // Constant pool strings are limited to 65535 bytes of modified UTF-8 (up to 3 per char)
+    private static final int MAX_LITERAL_CHARS = 20000;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (Element element : round.getElementsAnnotatedWith(StaticStylesheet.class)) {
+            try {
+                generate(element, element.getAnnotation(StaticStylesheet.class));
+            } catch (ReflectiveOperationException | IOException | RuntimeException | LinkageError e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Cannot render static stylesheet: " + e, element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(Element element, StaticStylesheet annotation) throws ReflectiveOperationException, IOException {
+        checkNames(annotation);
+        TypeElement source = sourceType(annotation);
+        String binaryName = processingEnv.getElementUtils().getBinaryName(source).toString();
+        try (URLClassLoader loader = classLoader(source, binaryName)) {
+            generate(element, annotation, Class.forName(binaryName, true, loader));
+        }
+    }
+
+    private void generate(Element element, StaticStylesheet annotation, Class<?> type) throws ReflectiveOperationException, IOException {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(element);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String name = annotation.name().isEmpty() ? type.getSimpleName() + "Css" : annotation.name();
+        RenderOptions options = annotation.compact() ? RenderOptions.COMPACT : RenderOptions.PRETTY;
+
+        StringBuilder java = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            java.append("package ").append(packageName).append(";\n\n");
+        }
+        java.append("import java.nio.ByteBuffer;\n")
+                .append("import java.nio.charset.StandardCharsets;\n\n")
+                .append("/**\n * Stylesheets of ").append(type.getName()).append(", rendered at build time.\n */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(name).append(" {\n\n")
+                .append("    private ").append(name).append("() {}\n");
+        for (String member : annotation.members()) {
+            String css = stylesheet(type, member).render(options);
+            byte[] utf8 = css.getBytes(StandardCharsets.UTF_8);
+            java.append("\n    public static final String ").append(member).append(" = ");
+            literal(java, css);
+            java.append(";\n\n");
+            // UTF-8 bytes carried as a Latin-1 string: one byte per char, so decoding it
+            // at class initialization is a plain array copy
+            java.append("    public static final ByteBuffer ").append(member).append("_UTF8 = ByteBuffer.wrap(");
+            literal(java, new String(utf8, StandardCharsets.ISO_8859_1));
+            java.append(".getBytes(StandardCharsets.ISO_8859_1)).asReadOnlyBuffer();\n");
+        }
+        java.append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? name : packageName + "." + name;
+        try (Writer out = processingEnv.getFiler().createSourceFile(qualifiedName, element).openWriter()) {
+            out.write(java.toString());
+        }
+    }
+
+    // Members and name end up as Java identifiers in the generated source
+    private static void checkNames(StaticStylesheet annotation) {
+        if (!annotation.name().isEmpty() && !isIdentifier(annotation.name())) {
+            throw new IllegalArgumentException("Generated class name is not a Java identifier: " + annotation.name());
+        }
+        Set<String> seen = new HashSet<>();
+        for (String member : annotation.members()) {
+            if (!isIdentifier(member)) {
+                throw new IllegalArgumentException("Member is not a Java identifier: " + member);
+            }
+            if (!seen.add(member)) {
+                throw new IllegalArgumentException("Member listed twice: " + member);
+            }
+        }
+        for (String member : annotation.members()) {
+            if (seen.contains(member + "_UTF8")) {
+                throw new IllegalArgumentException(member + "_UTF8 clashes with the bytes constant of " + member);
+            }
+        }
+    }
+
+    private static boolean isIdentifier(String name) {
+        return SourceVersion.isIdentifier(name) && !SourceVersion.isKeyword(name);
+    }
+
+    // The processor's loader only sees the processor path, not the code being compiled
+    private URLClassLoader classLoader(TypeElement source, String binaryName) throws IOException {
+        List<URL> urls = new ArrayList<>();
+        String pkg = processingEnv.getElementUtils().getPackageOf(source).getQualifiedName().toString();
+        String classFile = binaryName.substring(pkg.isEmpty() ? 0 : pkg.length() + 1) + ".class";
+        try {
+            URI uri = processingEnv.getFiler().getResource(StandardLocation.CLASS_PATH, pkg, classFile).toUri();
+            urls.add(classpathRoot(uri, pkg.isEmpty() ? classFile : pkg.replace('.', '/') + "/" + classFile));
+        } catch (IOException | IllegalArgumentException e) {
+            // not on the classpath as a class file; rely on luvs.classpath
+        }
+        String extra = processingEnv.getOptions().get(CLASSPATH_OPTION);
+        if (extra != null) {
+            for (String entry : extra.split(File.pathSeparator)) {
+                if (!entry.isEmpty()) {
+                    urls.add(new File(entry).toURI().toURL());
+                }
+            }
+        }
+        return new URLClassLoader(urls.toArray(new URL[0]), getClass().getClassLoader());
+    }
+
+    // file:/out/com/x/Styles.class -> file:/out/, jar:file:/s.jar!/com/x/Styles.class -> file:/s.jar
+    private static URL classpathRoot(URI uri, String path) throws IOException {
+        String text = uri.toString();
+        if (text.startsWith("jar:")) {
+            int bang = text.indexOf("!/");
+            return URI.create(text.substring(4, bang)).toURL();
+        }
+        if (!text.endsWith(path)) {
+            throw new IOException("Unexpected class file location: " + uri);
+        }
+        return URI.create(text.substring(0, text.length() - path.length())).toURL();
+    }
+
+    private static TypeElement sourceType(StaticStylesheet annotation) {
+        try {
+            annotation.value();
+            throw new IllegalStateException("Class values are only available as mirrors");
+        } catch (MirroredTypeException e) {
+            return (TypeElement) ((DeclaredType) e.getTypeMirror()).asElement();
+        }
+    }
+
+    private static CssRules stylesheet(Class<?> type, String member) throws ReflectiveOperationException {
+        Member found;
+        Object value;
+        try {
+            Field field = type.getDeclaredField(member);
+            field.setAccessible(true);
+            found = field;
+            value = field.get(null);
+        } catch (NoSuchFieldException e) {
+            Method method = type.getDeclaredMethod(member);
+            method.setAccessible(true);
+            found = method;
+            value = method.invoke(null);
+        }
+        if (!Modifier.isStatic(found.getModifiers())) {
+            throw new IllegalArgumentException(member + " is not static");
+        }
+        if (!(value instanceof CssRules)) {
+            throw new IllegalArgumentException(member + " is not a CssRules");
+        }
+        return (CssRules) value;
+    }
+
+    // A Java expression for the text: one literal, or a concatenation of chunk literals
+    private static void literal(StringBuilder java, String text) {
+        if (text.length() > MAX_LITERAL_CHARS) {
+            java.append("String.join(\"\"");
+            for (int from = 0; from < text.length(); from += MAX_LITERAL_CHARS) {
+                java.append(",\n            ");
+                quote(java, text.substring(from, Math.min(from + MAX_LITERAL_CHARS, text.length())));
+            }
+            java.append(")");
+        } else {
+            quote(java, text);
+        }
+    }
+
+    private static void quote(StringBuilder java, String text) {
+        java.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"': java.append("\\\""); break;
+                case '\\': java.append("\\\\"); break;
+                case '\n': java.append("\\n"); break;
+                case '\r': java.append("\\r"); break;
+                case '\t': java.append("\\t"); break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        java.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        java.append(c);
+                    }
+            }
+        }
+        java.append('"');
+    }
+}
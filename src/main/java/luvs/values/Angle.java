@@ -4,23 +4,172 @@ import java.util.Objects;
 
 /**
  * A concrete implementation of CssUnit representing an angle.
+ * Backed by a primitive double; integral values remember that they were integers
+ * (rendered as "0deg" rather than "0"). Angle.of(int, unit) hands out shared,
+ * pre-rendered instances for the common range of each unit: 0-360 for deg, 0-400 for
+ * grad, 0-1 for the others, as for Length.
  */
 public final class Angle implements CssUnit {
-    private final Number value;
+
+    // Lazily filled flyweights per unit, indexed by value; racy fills only ever store equal instances.
+    private static final Angle[][] CACHE = new Angle[AngleUnit.values().length][];
+
+    static {
+        for (AngleUnit unit : AngleUnit.values()) {
+            CACHE[unit.ordinal()] = new Angle[cachedUpTo(unit) + 1];
+        }
+    }
+
+    private final double value;
+    private final boolean integral;
+    private final long exact; // the value of integral instances, longs do not survive double
     private final AngleUnit unit;
+    private String text; // materialized on first use, racy single-check like String.hashCode
+    private int hash;    // cached hashCode(), 0 until computed
 
     public Angle(Number value, AngleUnit unit) {
-        this.value = Objects.requireNonNull(value, "Value cannot be null");
+        Objects.requireNonNull(value, "Value cannot be null");
         this.unit = Objects.requireNonNull(unit, "Unit cannot be null");
+        this.value = value.doubleValue();
+        this.integral = value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+        this.exact = integral ? value.longValue() : 0;
+    }
+
+    private Angle(double value, boolean integral, AngleUnit unit) {
+        this.value = value;
+        this.integral = integral;
+        this.exact = integral ? (long) value : 0;
+        this.unit = Objects.requireNonNull(unit, "Unit cannot be null");
+    }
+
+    /**
+     * Integer angle, shared and pre-rendered when within the cached range of the unit.
+     */
+    public static Angle of(int value, AngleUnit unit) {
+        Angle[] cache = CACHE[unit.ordinal()];
+        if (value < 0 || value >= cache.length) {
+            return new Angle(value, true, unit);
+        }
+        Angle angle = cache[value];
+        if (angle == null) {
+            angle = new Angle(value, true, unit);
+            angle.text = angle.format();
+            cache[value] = angle;
+        }
+        return angle;
+    }
+
+    /**
+     * Fractional angle. Whole non-zero values reuse the integer instances, they render the same.
+     */
+    public static Angle of(double value, AngleUnit unit) {
+        if (value != 0 && value == (int) value) {
+            return of((int) value, unit);
+        }
+        return new Angle(value, false, unit);
+    }
+
+    /**
+     * Boxed angle, for callers that only have a Number.
+     */
+    public static Angle of(Number value, AngleUnit unit) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return of(value.intValue(), unit);
+        }
+        return new Angle(value, unit);
+    }
+
+    private static int cachedUpTo(AngleUnit unit) {
+        switch (unit) {
+            case DEG: return 360;
+            case GRAD: return 400;
+            default: return 1;
+        }
     }
 
     @Override
     public Number getValue() {
+        if (integral && exact == (int) exact) {
+            return (int) exact;
+        }
+        if (integral) {
+            return exact;
+        }
+        return value;
+    }
+
+    /**
+     * The numeric value without boxing.
+     */
+    public double doubleValue() {
         return value;
     }
 
+    public AngleUnit getAngleUnit() {
+        return unit;
+    }
+
     @Override
     public String getUnit() {
         return unit.getSuffix();
     }
+
+    /**
+     * Formats once; length(), charAt() and subSequence() then read the same String.
+     */
+    @Override
+    public String delegatedCharSeqVal() {
+        String result = text;
+        if (result == null) {
+            result = format();
+            text = result;
+        }
+        return result;
+    }
+
+    private String format() {
+        if (!integral && value == 0) {
+            return "0";
+        }
+        StringBuilder sb = new StringBuilder(12);
+        if (integral) {
+            CssNumber.append(sb, exact);
+        } else {
+            CssNumber.append(sb, value);
+        }
+        return sb.append(unit.getSuffix()).toString();
+    }
+
+    /**
+     * Equal when unit, integrality and value are: 45deg equals Angle.of(45.0, DEG) (whole values
+     * from of(double) are integral), but 0 and 0.0 differ as they render differently.
+     * Integral values compare exactly as longs, others by double value like CssFunction.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Angle)) {
+            return false;
+        }
+        Angle other = (Angle) o;
+        return other.unit == unit && other.integral == integral
+                && (integral ? other.exact == exact : Double.compare(other.value + 0.0, value + 0.0) == 0); // + 0.0 folds -0.0
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = unit.ordinal() * 31 + (integral ? Long.hashCode(exact) : 1 + Double.hashCode(value + 0.0) * 31);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return delegatedCharSeqVal();
+    }
 }
@@ -1,22 +1,38 @@
 package luvs.values;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import luvx.DelegatedCharSeq;
 
 /**
  * Represents a CSS calc() expression.
  * Automatically wraps arithmetic operations in calc().
  *
+ * The expression is kept as a small tree (numbers with units, opaque terms such as
+ * var() references, sums and products) and simplified as it is built: constants of
+ * the same unit are folded, identities (+ 0, * 1, / 1) dropped and nested
+ * expressions flattened. calc() is only emitted while a term that must be resolved
+ * by the browser remains.
+ *
  * Usage:
  * <pre>
  * width(percent(100).minus(px(20)))  // calc(100% - 20px)
  * height(em(2).plus(px(10)))         // calc(2em + 10px)
+ * width(px(10).plus(px(20)))         // 30px
  * </pre>
  */
 public final class CalcExpression implements CssUnit {
-    private final String expression;
 
-    private CalcExpression(String expression) {
-        this.expression = expression;
+    private static final double FRACTION_SCALE = Math.pow(10, CssNumber.DEFAULT_MAX_FRACTION_DIGITS);
+    private static final Pattern NUMBER = Pattern.compile("([+-]?(?:\\d+\\.?\\d*|\\.\\d+))([a-zA-Z%]*)");
+
+    private final Node root;
+    private String text; // materialized on first use
+
+    private CalcExpression(Node root) {
+        this.root = root;
     }
 
     /**
@@ -24,29 +40,66 @@ public final class CalcExpression implements CssUnit {
      * Usage: calc("100% - 20px")
      */
     public static CalcExpression calc(String expression) {
-        return new CalcExpression(expression);
+        return new CalcExpression(node(expression));
     }
 
     /**
      * Creates a calc expression from parts (for type-safe composition).
      */
     static CalcExpression of(CharSequence left, String operator, CharSequence right) {
-        return new CalcExpression(left + " " + operator + " " + right);
+        return of(node(left), operator, node(right));
+    }
+
+    static CalcExpression of(CharSequence left, String operator, double right) {
+        return of(node(left), operator, new Num(right, right == Math.rint(right), ""));
     }
 
+    private static CalcExpression of(Node left, String operator, Node right) {
+        switch (operator) {
+            case "+": return new CalcExpression(sum(left, false, right));
+            case "-": return new CalcExpression(sum(left, true, right));
+            case "*": return new CalcExpression(product(left, '*', right));
+            case "/": return new CalcExpression(product(left, '/', right));
+            default: throw new IllegalArgumentException("Unsupported calc() operator: " + operator);
+        }
+    }
+
+    /**
+     * The folded value when the expression reduced to a single constant, otherwise 0.
+     */
     @Override
     public Number getValue() {
+        if (root instanceof Num) {
+            Num num = (Num) root;
+            return num.integral ? (Number) (long) num.value : (Number) num.value;
+        }
         return 0; // Not applicable for calc expressions
     }
 
+    /**
+     * The unit when the expression reduced to a single constant, otherwise "".
+     */
     @Override
     public String getUnit() {
-        return ""; // calc() has no unit suffix
+        return root instanceof Num ? ((Num) root).unit : ""; // calc() has no unit suffix
     }
 
     @Override
     public String delegatedCharSeqVal() {
-        return "calc(" + expression + ")";
+        String result = text;
+        if (result == null) {
+            StringBuilder sb = new StringBuilder(32);
+            if (!root.compound()) {
+                root.appendTo(sb);
+            } else {
+                sb.append("calc(");
+                root.appendTo(sb);
+                sb.append(')');
+            }
+            result = sb.toString();
+            text = result;
+        }
+        return result;
     }
 
     @Override
@@ -57,21 +110,337 @@ public final class CalcExpression implements CssUnit {
     // Chainable arithmetic for nested calc expressions
     @Override
     public CalcExpression plus(CharSequence other) {
-        return of(this.expression, "+", other);
+        return of(root, "+", node(other));
     }
 
     @Override
     public CalcExpression minus(CharSequence other) {
-        return of(this.expression, "-", other);
+        return of(root, "-", node(other));
     }
 
     @Override
     public CalcExpression times(CharSequence other) {
-        return of(this.expression, "*", other);
+        return of(root, "*", node(other));
     }
 
     @Override
     public CalcExpression divide(CharSequence other) {
-        return of(this.expression, "/", other);
+        return of(root, "/", node(other));
+    }
+
+    // ========== Expression tree ==========
+
+    private static Node node(CharSequence value) {
+        if (value instanceof CalcExpression) {
+            return ((CalcExpression) value).root;
+        }
+        if (value instanceof Length) {
+            Length length = (Length) value;
+            return new Num(length.doubleValue(), isIntegral(length.getValue()), length.getUnit());
+        }
+        if (value instanceof Angle) {
+            Angle angle = (Angle) value;
+            return new Num(angle.doubleValue(), isIntegral(angle.getValue()), angle.getUnit());
+        }
+        String text = value instanceof DelegatedCharSeq
+                ? ((DelegatedCharSeq) value).delegatedCharSeqVal()
+                : value.toString();
+        text = text.trim();
+        Matcher matcher = NUMBER.matcher(text);
+        if (matcher.matches()) {
+            String number = matcher.group(1);
+            return new Num(Double.parseDouble(number), number.indexOf('.') < 0, matcher.group(2));
+        }
+        return new Raw(text);
+    }
+
+    private static boolean isIntegral(Number value) {
+        return value instanceof Integer || value instanceof Long;
+    }
+
+    /**
+     * left + right, or left - right: flattens both sides into one list of terms,
+     * folds the constants per unit and drops zeros.
+     */
+    private static Node sum(Node left, boolean subtract, Node right) {
+        List<Term> terms = new ArrayList<>();
+        addTerms(terms, left, false);
+        addTerms(terms, right, subtract);
+
+        List<Term> folded = new ArrayList<>(terms.size());
+        for (Term term : terms) {
+            if (term.node instanceof Num) {
+                Num num = (Num) term.node;
+                double value = term.negative ? -num.value : num.value;
+                int existing = indexOfUnit(folded, num.unit);
+                if (existing >= 0) {
+                    Num other = (Num) folded.get(existing).node;
+                    folded.set(existing, new Term(false, new Num(other.value + value, other.integral && num.integral, num.unit)));
+                } else {
+                    folded.add(new Term(false, new Num(value, num.integral, num.unit)));
+                }
+            } else {
+                folded.add(term);
+            }
+        }
+        Num firstZero = null;
+        for (int i = folded.size() - 1; i >= 0; i--) {
+            Node node = folded.get(i).node;
+            if (node instanceof Num && ((Num) node).value == 0) {
+                firstZero = (Num) node;
+                folded.remove(i);
+            }
+        }
+        if (folded.isEmpty()) {
+            return firstZero;
+        }
+        if (folded.size() == 1 && !folded.get(0).negative) {
+            return folded.get(0).node;
+        }
+        return new Sum(folded);
+    }
+
+    private static void addTerms(List<Term> terms, Node node, boolean negative) {
+        if (node instanceof Sum) {
+            for (Term term : ((Sum) node).terms) {
+                terms.add(new Term(term.negative != negative, term.node));
+            }
+        } else {
+            terms.add(new Term(negative, node));
+        }
+    }
+
+    private static int indexOfUnit(List<Term> terms, String unit) {
+        for (int i = 0; i < terms.size(); i++) {
+            Node node = terms.get(i).node;
+            if (node instanceof Num && ((Num) node).unit.equals(unit)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * left * right or left / right: folds a constant with a unitless factor, drops * 1 and / 1.
+     * A division is only folded when the quotient renders exactly, so 100% / 4 becomes 25%
+     * but 100% / 3 stays calc(100% / 3) rather than a rounded 33.333333%.
+     */
+    private static Node product(Node left, char operator, Node right) {
+        if (right instanceof Num && ((Num) right).isUnitless()) {
+            Num factor = (Num) right;
+            if (factor.value == 1) {
+                return left;
+            }
+            if (left instanceof Num && (operator == '*' || factor.value != 0)) {
+                Num num = (Num) left;
+                double value = operator == '*' ? num.value * factor.value : num.value / factor.value;
+                if (operator == '*' || rendersExactly(value)) {
+                    return new Num(value, num.integral && factor.integral && value == Math.rint(value), num.unit);
+                }
+            }
+        }
+        if (operator == '*' && left instanceof Num && ((Num) left).isUnitless()) {
+            return product(right, operator, left);
+        }
+        return new Product(left, operator, right);
+    }
+
+    // True when CssNumber's default fraction digits represent value without rounding
+    private static boolean rendersExactly(double value) {
+        double scaled = value * FRACTION_SCALE;
+        return Math.rint(scaled) / FRACTION_SCALE == value;
+    }
+
+    private abstract static class Node {
+        abstract void appendTo(StringBuilder sb);
+
+        /**
+         * True when the node renders as several operands and needs parentheses inside a product.
+         */
+        abstract boolean compound();
+    }
+
+    /**
+     * A constant: number with an optional unit.
+     */
+    private static final class Num extends Node {
+        final double value;
+        final boolean integral;
+        final String unit;
+
+        Num(double value, boolean integral, String unit) {
+            this.value = value;
+            this.integral = integral;
+            this.unit = unit;
+        }
+
+        boolean isUnitless() {
+            return unit.isEmpty();
+        }
+
+        @Override
+        void appendTo(StringBuilder sb) {
+            if (integral) {
+                CssNumber.append(sb, (long) value);
+            } else {
+                CssNumber.append(sb, value);
+            }
+            sb.append(unit);
+        }
+
+        @Override
+        boolean compound() {
+            return false;
+        }
+    }
+
+    /**
+     * A term only the browser can resolve, e.g. var(--gap) or a hand-written expression.
+     */
+    private static final class Raw extends Node {
+        final String text;
+        final boolean compound;
+
+        Raw(String text) {
+            this.text = text;
+            this.compound = !isSingleTerm(text);
+        }
+
+        /**
+         * True for a single token (auto, 10px) or a single function call (var(--x),
+         * min(1px, 2vw)); anything else, such as 100%/3 or 2*var(--x), is an expression.
+         */
+        private static boolean isSingleTerm(String text) {
+            int open = text.indexOf('(');
+            if (open < 0) {
+                return !text.isEmpty() && !containsOperator(text, 0, text.length());
+            }
+            if (open == 0 || containsOperator(text, 0, open)) {
+                return false;
+            }
+            int depth = 0;
+            for (int i = open; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')' && --depth == 0) {
+                    return i == text.length() - 1;
+                }
+            }
+            return false;
+        }
+
+        // '-' is deliberately not an operator: CSS requires whitespace around a binary
+        // minus, so 10px - 2px is caught by the whitespace check while -2px, --gap and
+        // ease-in are single terms.
+        private static boolean containsOperator(String text, int from, int to) {
+            for (int i = from; i < to; i++) {
+                char c = text.charAt(i);
+                if (c == '+' || c == '*' || c == '/' || c == ')' || c == ',' || Character.isWhitespace(c)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        void appendTo(StringBuilder sb) {
+            sb.append(text);
+        }
+
+        @Override
+        boolean compound() {
+            return compound;
+        }
+    }
+
+    private static final class Term {
+        final boolean negative;
+        final Node node;
+
+        Term(boolean negative, Node node) {
+            this.negative = negative;
+            this.node = node;
+        }
+    }
+
+    /**
+     * A flattened chain of additions and subtractions.
+     */
+    private static final class Sum extends Node {
+        final List<Term> terms;
+
+        Sum(List<Term> terms) {
+            this.terms = terms;
+        }
+
+        @Override
+        void appendTo(StringBuilder sb) {
+            for (int i = 0; i < terms.size(); i++) {
+                Term term = terms.get(i);
+                Node node = term.node;
+                boolean negative = term.negative;
+                if (node instanceof Num) {
+                    // Folded constants carry their sign in the value
+                    Num num = (Num) node;
+                    if (i > 0 && num.value < 0) {
+                        node = new Num(-num.value, num.integral, num.unit);
+                        negative = true;
+                    }
+                }
+                if (i > 0) {
+                    sb.append(negative ? " - " : " + ");
+                } else if (negative) {
+                    sb.append("-1 * ");
+                }
+                boolean parenthesize = negative && node.compound();
+                if (parenthesize) {
+                    sb.append('(');
+                }
+                node.appendTo(sb);
+                if (parenthesize) {
+                    sb.append(')');
+                }
+            }
+        }
+
+        @Override
+        boolean compound() {
+            return true;
+        }
+    }
+
+    private static final class Product extends Node {
+        final Node left;
+        final char operator;
+        final Node right;
+
+        Product(Node left, char operator, Node right) {
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+        }
+
+        @Override
+        void appendTo(StringBuilder sb) {
+            appendOperand(sb, left, left.compound() && !(left instanceof Product));
+            sb.append(' ').append(operator).append(' ');
+            appendOperand(sb, right, right.compound());
+        }
+
+        private static void appendOperand(StringBuilder sb, Node operand, boolean parenthesize) {
+            if (parenthesize) {
+                sb.append('(');
+            }
+            operand.appendTo(sb);
+            if (parenthesize) {
+                sb.append(')');
+            }
+        }
+
+        @Override
+        boolean compound() {
+            return true;
+        }
     }
 }
@@ -0,0 +1,157 @@
+package luvs.values;
+
+import java.util.Objects;
+import luvx.DelegatedCharSeq;
+
+/**
+ * One function of a Transform or Filter chain, e.g. rotate(45deg), as a typed node:
+ * the function name and its arguments, linked to the functions before it.
+ * Chains share their prefix, so appending is O(1), and the text is produced only
+ * when the whole chain is rendered, numbers written directly by CssNumber.
+ */
+final class CssFunction {
+
+    private final CssFunction previous;
+    private final String name;        // null for a preformatted function passed as text
+    private final Object[] arguments; // CharSequence or Number
+    private final String separator;   // between arguments: ", " or " "
+    private final int size;           // functions in the chain up to this one
+    private int hash;                 // of the chain up to this one, cached; 0 until computed
+
+    private CssFunction(CssFunction previous, String name, String separator, Object[] arguments) {
+        this.previous = previous;
+        this.name = name;
+        this.separator = separator;
+        this.arguments = arguments;
+        this.size = previous == null ? 1 : previous.size + 1;
+    }
+
+    /**
+     * Appends name(arg1, arg2...) to the chain ending at previous (null for a new chain).
+     */
+    static CssFunction call(CssFunction previous, String name, Object... arguments) {
+        return new CssFunction(previous, name, ", ", arguments);
+    }
+
+    /**
+     * Like call(), with arguments separated by spaces, e.g. drop-shadow(0 2px 4px black).
+     */
+    static CssFunction callSpaced(CssFunction previous, String name, Object... arguments) {
+        return new CssFunction(previous, name, " ", arguments);
+    }
+
+    /**
+     * Appends an already formatted function such as "rotate(45deg)".
+     */
+    static CssFunction text(CssFunction previous, CharSequence function) {
+        return new CssFunction(previous, null, "", new Object[] {function});
+    }
+
+    /**
+     * Renders the chain ending at last, functions separated by a space.
+     */
+    static String render(CssFunction last) {
+        if (last == null) {
+            return "";
+        }
+        CssFunction[] chain = new CssFunction[last.size];
+        for (CssFunction f = last; f != null; f = f.previous) {
+            chain[f.size - 1] = f;
+        }
+        StringBuilder sb = new StringBuilder(chain.length * 16);
+        for (int i = 0; i < chain.length; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            chain[i].appendTo(sb);
+        }
+        return sb.toString();
+    }
+
+    private void appendTo(StringBuilder sb) {
+        if (name == null) {
+            appendArgument(sb, arguments[0]);
+            return;
+        }
+        sb.append(name).append('(');
+        for (int i = 0; i < arguments.length; i++) {
+            if (i > 0) {
+                sb.append(separator);
+            }
+            appendArgument(sb, arguments[i]);
+        }
+        sb.append(')');
+    }
+
+    /**
+     * Structural equality of two chains (either may be null): same functions, names,
+     * separators and arguments, numbers compared by value (scale(1) equals scale(1.0)).
+     */
+    static boolean equal(CssFunction a, CssFunction b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null || a.size != b.size || a.hashCode() != b.hashCode()) {
+            return false;
+        }
+        for (; a != null; a = a.previous, b = b.previous) {
+            if (a == b) {
+                return true; // shared prefix
+            }
+            if (!Objects.equals(a.name, b.name) || !a.separator.equals(b.separator)
+                    || a.arguments.length != b.arguments.length) {
+                return false;
+            }
+            for (int i = 0; i < a.arguments.length; i++) {
+                if (!argumentEquals(a.arguments[i], b.arguments[i])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    static int hash(CssFunction last) {
+        return last == null ? 0 : last.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = previous == null ? 1 : previous.hashCode();
+            h = h * 31 + (name == null ? 0 : name.hashCode());
+            for (Object argument : arguments) {
+                h = h * 31 + argumentHash(argument);
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CssFunction && equal(this, (CssFunction) o);
+    }
+
+    private static boolean argumentEquals(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            return ((Number) a).doubleValue() == ((Number) b).doubleValue();
+        }
+        return a.equals(b);
+    }
+
+    private static int argumentHash(Object argument) {
+        return argument instanceof Number ? Double.hashCode(((Number) argument).doubleValue() + 0.0) : argument.hashCode();
+    }
+
+    private static void appendArgument(StringBuilder sb, Object argument) {
+        if (argument instanceof DelegatedCharSeq) {
+            sb.append(((DelegatedCharSeq) argument).delegatedCharSeqVal());
+        } else if (argument instanceof Number) {
+            CssNumber.append(sb, (Number) argument);
+        } else {
+            sb.append(argument);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package luvs.values;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Writes numbers the way CSS wants them: plain decimal notation (never 1.0E-4),
+ * the shortest digits that round-trip to the same double, no trailing zeros,
+ * and at most a configurable number of fraction digits.
+ * Digits are appended straight into the caller's StringBuilder, no Formatter,
+ * format string or temporary String involved.
+ *
+ * Usage:
+ * <pre>
+ * CssNumber.append(sb, 1.50)          // 1.5
+ * CssNumber.append(sb, 1.0 / 3)       // 0.333333
+ * CssNumber.append(sb, 0.5, 2, true)  // .5
+ * </pre>
+ */
+public final class CssNumber {
+
+    /**
+     * Fraction digits kept by default, finer than any device pixel.
+     */
+    public static final int DEFAULT_MAX_FRACTION_DIGITS = 6;
+
+    private static final int MAX_FRACTION_DIGITS = 15;
+
+    // Above this magnitude a scaled double no longer fits a long exactly.
+    private static final double MAX_SCALED = 1e17;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_FRACTION_DIGITS + 1];
+
+    static {
+        long power = 1;
+        for (int i = 0; i <= MAX_FRACTION_DIGITS; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+    }
+
+    private CssNumber() {} // Utility class
+
+    /**
+     * Appends an integer value.
+     */
+    public static StringBuilder append(StringBuilder sb, long value) {
+        return sb.append(value);
+    }
+
+    /**
+     * Appends a double with the default precision, keeping the leading zero (0.5).
+     */
+    public static StringBuilder append(StringBuilder sb, double value) {
+        return append(sb, value, DEFAULT_MAX_FRACTION_DIGITS, false);
+    }
+
+    /**
+     * Appends a double with the shortest digits that round-trip, rounded to at most
+     * maxFractionDigits fraction digits.
+     * @param stripLeadingZero writes .5 instead of 0.5, valid CSS that saves a byte
+     * @throws IllegalArgumentException for NaN and infinities, which CSS cannot express
+     */
+    public static StringBuilder append(StringBuilder sb, double value, int maxFractionDigits, boolean stripLeadingZero) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("CSS numbers must be finite: " + value);
+        }
+        if (maxFractionDigits < 0 || maxFractionDigits > MAX_FRACTION_DIGITS) {
+            throw new IllegalArgumentException("maxFractionDigits must be between 0 and " + MAX_FRACTION_DIGITS);
+        }
+        double abs = Math.abs(value);
+        if (abs >= MAX_SCALED) {
+            // Integral anyway at this magnitude, rare enough to afford the allocation
+            return sb.append(new BigDecimal(value).toPlainString());
+        }
+        int digits = 0;
+        long scaled = Math.round(abs);
+        while (digits < maxFractionDigits && (double) scaled / POWERS_OF_TEN[digits] != abs) {
+            if (abs * POWERS_OF_TEN[digits + 1] >= MAX_SCALED) {
+                break;
+            }
+            digits++;
+            scaled = Math.round(abs * POWERS_OF_TEN[digits]);
+        }
+        // Rounding to maxFractionDigits can leave trailing zeros (0.1000004 -> 0.100000)
+        while (digits > 0 && scaled % 10 == 0) {
+            scaled /= 10;
+            digits--;
+        }
+        if (scaled == 0) {
+            return sb.append('0');
+        }
+        if (value < 0) {
+            sb.append('-');
+        }
+        long integerPart = scaled / POWERS_OF_TEN[digits];
+        if (integerPart != 0 || digits == 0 || !stripLeadingZero) {
+            sb.append(integerPart);
+        }
+        if (digits > 0) {
+            sb.append('.');
+            long fraction = scaled % POWERS_OF_TEN[digits];
+            for (int i = digits - 1; i >= 0; i--) {
+                sb.append((char) ('0' + fraction / POWERS_OF_TEN[i] % 10));
+            }
+        }
+        return sb;
+    }
+
+    /**
+     * Appends any Number: integral types as integers, Double and Float with the
+     * default precision, BigDecimal and BigInteger exactly in plain notation.
+     */
+    public static StringBuilder append(StringBuilder sb, Number value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return sb.append(value.longValue());
+        }
+        if (value instanceof BigDecimal) {
+            return sb.append(((BigDecimal) value).stripTrailingZeros().toPlainString());
+        }
+        if (value instanceof BigInteger) {
+            return sb.append(value);
+        }
+        return append(sb, value.doubleValue());
+    }
+
+    /**
+     * Formats a Number into a new String, see append(StringBuilder, Number).
+     */
+    public static String toString(Number value) {
+        return append(new StringBuilder(12), value).toString();
+    }
+}
@@ -5,6 +5,8 @@ import luvx.DelegatedCharSeq;
 /**
  * Represents a CSS value with a specific unit (e.g., "10px", "1.5rem", "90deg").
  * Implements DelegatedCharSeq to be seamlessly used as a value in CSS properties.
+ * Implementations materialize their text once and override toString() with it,
+ * so consumers iterating the CharSequence never re-format the number.
  */
 public interface CssUnit extends DelegatedCharSeq {
     /**
@@ -19,15 +21,17 @@ public interface CssUnit extends DelegatedCharSeq {
 
     @Override
     public default String delegatedCharSeqVal() {
-        // Avoid scientific notation for doubles like 1.0E-4
-        if (getValue() instanceof Double || getValue() instanceof Float) {
-             if (getValue().doubleValue() == 0) return "0";
-             return String.format("%s%s", getValue(), getUnit());
+        Number value = getValue();
+        // A floating zero needs no unit; CssNumber never falls back to scientific notation
+        if ((value instanceof Double || value instanceof Float) && value.doubleValue() == 0) {
+            return "0";
         }
-        return getValue() + getUnit();
+        return CssNumber.append(new StringBuilder(12), value).append(getUnit()).toString();
     }
 
     // ========== Chainable Arithmetic (produces calc() expressions) ==========
+    // Constants are folded: px(10).plus(px(20)) renders 30px, calc() only remains
+    // for terms the browser has to resolve.
 
     /**
      * Addition: this + other
@@ -47,17 +51,31 @@ public interface CssUnit extends DelegatedCharSeq {
 
     /**
      * Multiplication: this * other
-     * Usage: em(2).times(1.5) → calc(2em * 1.5)
+     * Usage: em(2).times(var("scale")) → calc(2em * var(--scale))
      */
     default CalcExpression times(CharSequence other) {
         return CalcExpression.of(this, "*", other);
     }
 
+    /**
+     * Multiplication by a plain number: em(2).times(1.5) → 3em
+     */
+    default CalcExpression times(double factor) {
+        return CalcExpression.of(this, "*", factor);
+    }
+
     /**
      * Division: this / other
-     * Usage: percent(100).divide(3) → calc(100% / 3)
+     * Usage: percent(100).divide(var("columns")) → calc(100% / var(--columns))
      */
     default CalcExpression divide(CharSequence other) {
         return CalcExpression.of(this, "/", other);
     }
+
+    /**
+     * Division by a plain number: percent(100).divide(4) → 25%
+     */
+    default CalcExpression divide(double divisor) {
+        return CalcExpression.of(this, "/", divisor);
+    }
 }
\ No newline at end of file
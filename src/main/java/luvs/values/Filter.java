@@ -1,8 +1,6 @@
 package luvs.values;
 
 import luvx.DelegatedCharSeq;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Chainable CSS filter functions.
@@ -14,71 +12,107 @@ import java.util.List;
  * </pre>
  */
 public final class Filter implements DelegatedCharSeq {
-    private final List<String> functions;
+    private static final Filter EMPTY = new Filter((CssFunction) null);
 
-    private Filter(List<String> functions) {
-        this.functions = functions;
+    private final CssFunction last; // persistent chain of typed function nodes, null when empty
+    private String text; // joined functions, materialized on first use
+    private int hash;    // cached hashCode(), 0 until computed
+
+    private Filter(CssFunction last) {
+        this.last = last;
     }
 
     // Public constructor for varargs (allows mixing enums, functions, strings)
     public Filter(CharSequence... functions) {
-        this.functions = new ArrayList<>();
+        CssFunction chain = null;
         for (CharSequence func : functions) {
-            this.functions.add(func.toString());
+            chain = CssFunction.text(chain, func);
         }
+        this.last = chain;
+    }
+
+    /**
+     * A chain without any function yet, the starting point of the V factories.
+     */
+    public static Filter empty() {
+        return EMPTY;
     }
 
     // ========== Chainable Methods ==========
 
     public Filter blur(CharSequence radius) {
-        return chain("blur(" + radius + ")");
+        return chain(CssFunction.call(last, "blur", radius));
     }
 
     public Filter brightness(Number amount) {
-        return chain("brightness(" + amount + ")");
+        return chain(CssFunction.call(last, "brightness", amount));
     }
 
     public Filter contrast(Number amount) {
-        return chain("contrast(" + amount + ")");
+        return chain(CssFunction.call(last, "contrast", amount));
     }
 
     public Filter dropShadow(CharSequence offsetX, CharSequence offsetY, CharSequence blurRadius, CharSequence color) {
-        return chain("drop-shadow(" + offsetX + " " + offsetY + " " + blurRadius + " " + color + ")");
+        return chain(CssFunction.callSpaced(last, "drop-shadow", offsetX, offsetY, blurRadius, color));
     }
 
     public Filter grayscale(Number amount) {
-        return chain("grayscale(" + amount + ")");
+        return chain(CssFunction.call(last, "grayscale", amount));
     }
 
     public Filter hueRotate(CharSequence angle) {
-        return chain("hue-rotate(" + angle + ")");
+        return chain(CssFunction.call(last, "hue-rotate", angle));
     }
 
     public Filter invert(Number amount) {
-        return chain("invert(" + amount + ")");
+        return chain(CssFunction.call(last, "invert", amount));
     }
 
     public Filter opacity(Number amount) {
-        return chain("opacity(" + amount + ")");
+        return chain(CssFunction.call(last, "opacity", amount));
     }
 
     public Filter saturate(Number amount) {
-        return chain("saturate(" + amount + ")");
+        return chain(CssFunction.call(last, "saturate", amount));
     }
 
     public Filter sepia(Number amount) {
-        return chain("sepia(" + amount + ")");
+        return chain(CssFunction.call(last, "sepia", amount));
     }
 
-    private Filter chain(String function) {
-        List<String> newFunctions = new ArrayList<>(this.functions);
-        newFunctions.add(function);
-        return new Filter(newFunctions);
+    private Filter chain(CssFunction function) {
+        return new Filter(function);
     }
 
+    /**
+     * Renders the whole chain once, in a single pass.
+     */
     @Override
     public String delegatedCharSeqVal() {
-        return String.join(" ", functions);
+        String result = text;
+        if (result == null) {
+            result = CssFunction.render(last);
+            text = result;
+        }
+        return result;
+    }
+
+    /**
+     * Equal when the chains have the same functions and arguments, compared without rendering.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o == this || o instanceof Filter && CssFunction.equal(last, ((Filter) o).last);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = CssFunction.hash(last);
+            hash = h;
+        }
+        return h;
     }
 
     @Override
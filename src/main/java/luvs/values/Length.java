@@ -4,23 +4,173 @@ import java.util.Objects;
 
 /**
  * A concrete implementation of CssUnit representing a length.
+ * Backed by a primitive double; integral values remember that they were integers
+ * (rendered as "0px" rather than "0"). Length.of(int, unit) hands out shared,
+ * pre-rendered instances for the common range of each unit: 0-1024 for px, 0-100 for
+ * %, vh, vw, vmin and vmax, 0-16 for rem and em, 0-1 for the others.
  */
 public final class Length implements CssUnit {
-    private final Number value;
+
+    // Lazily filled flyweights per unit, indexed by value; racy fills only ever store equal instances.
+    private static final Length[][] CACHE = new Length[LengthUnit.values().length][];
+
+    static {
+        for (LengthUnit unit : LengthUnit.values()) {
+            CACHE[unit.ordinal()] = new Length[cachedUpTo(unit) + 1];
+        }
+    }
+
+    private final double value;
+    private final boolean integral;
+    private final long exact; // the value of integral instances, longs do not survive double
     private final LengthUnit unit;
+    private String text; // materialized on first use, racy single-check like String.hashCode
+    private int hash;    // cached hashCode(), 0 until computed
 
     public Length(Number value, LengthUnit unit) {
-        this.value = Objects.requireNonNull(value, "Value cannot be null");
+        Objects.requireNonNull(value, "Value cannot be null");
         this.unit = Objects.requireNonNull(unit, "Unit cannot be null");
+        this.value = value.doubleValue();
+        this.integral = value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+        this.exact = integral ? value.longValue() : 0;
+    }
+
+    private Length(double value, boolean integral, LengthUnit unit) {
+        this.value = value;
+        this.integral = integral;
+        this.exact = integral ? (long) value : 0;
+        this.unit = Objects.requireNonNull(unit, "Unit cannot be null");
+    }
+
+    /**
+     * Integer length, shared and pre-rendered when within the cached range of the unit.
+     */
+    public static Length of(int value, LengthUnit unit) {
+        Length[] cache = CACHE[unit.ordinal()];
+        if (value < 0 || value >= cache.length) {
+            return new Length(value, true, unit);
+        }
+        Length length = cache[value];
+        if (length == null) {
+            length = new Length(value, true, unit);
+            length.text = length.format();
+            cache[value] = length;
+        }
+        return length;
+    }
+
+    /**
+     * Fractional length. Whole non-zero values reuse the integer instances, they render the same.
+     */
+    public static Length of(double value, LengthUnit unit) {
+        if (value != 0 && value == (int) value) {
+            return of((int) value, unit);
+        }
+        return new Length(value, false, unit);
+    }
+
+    /**
+     * Boxed length, for callers that only have a Number.
+     */
+    public static Length of(Number value, LengthUnit unit) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return of(value.intValue(), unit);
+        }
+        return new Length(value, unit);
+    }
+
+    private static int cachedUpTo(LengthUnit unit) {
+        switch (unit) {
+            case PX: return 1024;
+            case PERCENT: case VH: case VW: case VMIN: case VMAX: return 100;
+            case REM: case EM: return 16;
+            default: return 1;
+        }
     }
 
     @Override
     public Number getValue() {
+        if (integral && exact == (int) exact) {
+            return (int) exact;
+        }
+        if (integral) {
+            return exact;
+        }
+        return value;
+    }
+
+    /**
+     * The numeric value without boxing.
+     */
+    public double doubleValue() {
         return value;
     }
 
+    public LengthUnit getLengthUnit() {
+        return unit;
+    }
+
     @Override
     public String getUnit() {
         return unit.getSuffix();
     }
-}
\ No newline at end of file
+
+    /**
+     * Formats once; length(), charAt() and subSequence() then read the same String.
+     */
+    @Override
+    public String delegatedCharSeqVal() {
+        String result = text;
+        if (result == null) {
+            result = format();
+            text = result;
+        }
+        return result;
+    }
+
+    private String format() {
+        if (!integral && value == 0) {
+            return "0";
+        }
+        StringBuilder sb = new StringBuilder(12);
+        if (integral) {
+            CssNumber.append(sb, exact);
+        } else {
+            CssNumber.append(sb, value);
+        }
+        return sb.append(unit.getSuffix()).toString();
+    }
+
+    /**
+     * Equal when unit, integrality and value are: 10px equals Length.of(10.0, PX) (whole values
+     * from of(double) are integral), but 0 and 0.0 differ as they render differently.
+     * Integral values compare exactly as longs, others by double value like CssFunction.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Length)) {
+            return false;
+        }
+        Length other = (Length) o;
+        return other.unit == unit && other.integral == integral
+                && (integral ? other.exact == exact : Double.compare(other.value + 0.0, value + 0.0) == 0); // + 0.0 folds -0.0
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = unit.ordinal() * 31 + (integral ? Long.hashCode(exact) : 1 + Double.hashCode(value + 0.0) * 31);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return delegatedCharSeqVal();
+    }
+}
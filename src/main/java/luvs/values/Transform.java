@@ -1,9 +1,6 @@
 package luvs.values;
 
 import luvx.DelegatedCharSeq;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 
 /**
  * Chainable CSS transform functions.
@@ -15,91 +12,127 @@ import java.util.List;
  * </pre>
  */
 public final class Transform implements DelegatedCharSeq {
-    private final List<String> functions;
+    private static final Transform EMPTY = new Transform((CssFunction) null);
 
-    private Transform(List<String> functions) {
-        this.functions = functions;
+    private final CssFunction last; // persistent chain of typed function nodes, null when empty
+    private String text; // joined functions, materialized on first use
+    private int hash;    // cached hashCode(), 0 until computed
+
+    private Transform(CssFunction last) {
+        this.last = last;
     }
 
     // Public constructor for varargs (allows mixing enums, functions, strings)
     public Transform(CharSequence... functions) {
-        this.functions = new ArrayList<>();
+        CssFunction chain = null;
         for (CharSequence func : functions) {
-            this.functions.add(func.toString());
+            chain = CssFunction.text(chain, func);
         }
+        this.last = chain;
+    }
+
+    /**
+     * A chain without any function yet, the starting point of the V factories.
+     */
+    public static Transform empty() {
+        return EMPTY;
     }
 
     // ========== Chainable Methods ==========
 
     public Transform rotate(CharSequence angle) {
-        return chain("rotate(" + angle + ")");
+        return chain(CssFunction.call(last, "rotate", angle));
     }
 
     public Transform rotateX(CharSequence angle) {
-        return chain("rotateX(" + angle + ")");
+        return chain(CssFunction.call(last, "rotateX", angle));
     }
 
     public Transform rotateY(CharSequence angle) {
-        return chain("rotateY(" + angle + ")");
+        return chain(CssFunction.call(last, "rotateY", angle));
     }
 
     public Transform rotateZ(CharSequence angle) {
-        return chain("rotateZ(" + angle + ")");
+        return chain(CssFunction.call(last, "rotateZ", angle));
     }
 
     public Transform scale(Number value) {
-        return chain("scale(" + value + ")");
+        return chain(CssFunction.call(last, "scale", value));
     }
 
     public Transform scale(Number x, Number y) {
-        return chain("scale(" + x + ", " + y + ")");
+        return chain(CssFunction.call(last, "scale", x, y));
     }
 
     public Transform scaleX(Number value) {
-        return chain("scaleX(" + value + ")");
+        return chain(CssFunction.call(last, "scaleX", value));
     }
 
     public Transform scaleY(Number value) {
-        return chain("scaleY(" + value + ")");
+        return chain(CssFunction.call(last, "scaleY", value));
     }
 
     public Transform translate(CharSequence x, CharSequence y) {
-        return chain("translate(" + x + ", " + y + ")");
+        return chain(CssFunction.call(last, "translate", x, y));
     }
 
     public Transform translateX(CharSequence value) {
-        return chain("translateX(" + value + ")");
+        return chain(CssFunction.call(last, "translateX", value));
     }
 
     public Transform translateY(CharSequence value) {
-        return chain("translateY(" + value + ")");
+        return chain(CssFunction.call(last, "translateY", value));
     }
 
     public Transform translateZ(CharSequence value) {
-        return chain("translateZ(" + value + ")");
+        return chain(CssFunction.call(last, "translateZ", value));
     }
 
     public Transform skew(CharSequence x, CharSequence y) {
-        return chain("skew(" + x + ", " + y + ")");
+        return chain(CssFunction.call(last, "skew", x, y));
     }
 
     public Transform skewX(CharSequence angle) {
-        return chain("skewX(" + angle + ")");
+        return chain(CssFunction.call(last, "skewX", angle));
     }
 
     public Transform skewY(CharSequence angle) {
-        return chain("skewY(" + angle + ")");
+        return chain(CssFunction.call(last, "skewY", angle));
     }
 
-    private Transform chain(String function) {
-        List<String> newFunctions = new ArrayList<>(this.functions);
-        newFunctions.add(function);
-        return new Transform(newFunctions);
+    private Transform chain(CssFunction function) {
+        return new Transform(function);
     }
 
+    /**
+     * Renders the whole chain once, in a single pass.
+     */
     @Override
     public String delegatedCharSeqVal() {
-        return String.join(" ", functions);
+        String result = text;
+        if (result == null) {
+            result = CssFunction.render(last);
+            text = result;
+        }
+        return result;
+    }
+
+    /**
+     * Equal when the chains have the same functions and arguments, compared without rendering.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o == this || o instanceof Transform && CssFunction.equal(last, ((Transform) o).last);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = CssFunction.hash(last);
+            hash = h;
+        }
+        return h;
     }
 
     @Override
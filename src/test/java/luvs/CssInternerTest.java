@@ -0,0 +1,42 @@
+package luvs;
+
+import static luvs.P.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class CssInternerTest {
+
+    @Test
+    void equalPropertiesAndBlocksAreShared() {
+        CssInterner interner = new CssInterner(100);
+        CssProperty[] a = interner.intern(new CssProperty[] {color("red"), display("flex")});
+        CssProperty[] b = interner.intern(new CssProperty[] {color("red"), display("flex")});
+        assertSame(a, b);
+        assertSame(interner.intern(color("red")), a[0]);
+        assertNotSame(a, interner.intern(new CssProperty[] {display("flex"), color("red")}));
+    }
+
+    @Test
+    void fullTableReturnsValuesAsTheyAre() {
+        CssInterner interner = new CssInterner(1);
+        CssProperty red = interner.intern(color("red"));
+        CssProperty blue = color("blue");
+        assertSame(blue, interner.intern(blue));
+        assertSame(red, interner.intern(color("red")));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void collectedValuesLeaveTheTable() throws InterruptedException {
+        CssInterner interner = new CssInterner(100);
+        interner.intern(color("red"));
+        for (int i = 0; i < 50 && interner.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, interner.size());
+    }
+}
@@ -0,0 +1,108 @@
+package luvs;
+
+import static luvs.P.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class CssOptimizerTest {
+
+    private static String optimized(CssRule... rules) {
+        return CssRules.rules(rules).optimize().render(RenderOptions.COMPACT);
+    }
+
+    private static CssRule margins(String top, String right, String bottom, String left) {
+        return CssRule.rule(".x", margin_top(top), margin_right(right), margin_bottom(bottom), margin_left(left));
+    }
+
+    @Test
+    void mergedRuleKeepsTheWinningDeclaration() {
+        assertEquals(".a{color:blue}.b{display:flex}",
+                optimized(CssRule.rule(".a", color("red")), CssRule.rule(".b", display("flex")), CssRule.rule(".a", color("blue"))));
+    }
+
+    @Test
+    void collapseAtEqualCountKeepsEveryLonghand() {
+        assertEquals(".a{gap:1px 2px}",
+                optimized(CssRule.rule(".a", prop("row-gap", "1px")), CssRule.rule(".a", prop("column-gap", "2px"))));
+    }
+
+    @Test
+    void longhandIsNotMovedAcrossItsShorthand() {
+        assertEquals(".a{top:0}.b{inset:10px}.a{left:0}",
+                optimized(CssRule.rule(".a", top("0")), CssRule.rule(".b", prop("inset", "10px")), CssRule.rule(".a", left("0"))));
+        assertEquals(".a{line-height:1}.b{font:12px serif}.a{line-height:2}",
+                optimized(CssRule.rule(".a", line_height("1")), CssRule.rule(".b", prop("font", "12px serif")),
+                        CssRule.rule(".a", line_height("2"))));
+    }
+
+    @Test
+    void nothingIsMovedAcrossPropertiesOutsideTheTable() {
+        assertEquals(".a{color:red}.b{all:unset}.a{display:flex}",
+                optimized(CssRule.rule(".a", color("red")), CssRule.rule(".b", prop("all", "unset")), CssRule.rule(".a", display("flex"))));
+    }
+
+    @Test
+    void longhandWithCssWideKeywordIsNotCollapsed() {
+        assertEquals(".x{margin-top:inherit;margin-right:0px;margin-bottom:0px;margin-left:0px}",
+                optimized(margins("inherit", "0px", "0px", "0px")));
+    }
+
+    @Test
+    void longhandsWithTheSameKeywordCollapseToIt() {
+        assertEquals(".x{margin:inherit}", optimized(margins("inherit", "inherit", "inherit", "inherit")));
+    }
+
+    @Test
+    void longhandWithVarIsNotCollapsed() {
+        assertEquals(".x{margin-top:var(--m);margin-right:0px;margin-bottom:0px;margin-left:0px}",
+                optimized(margins("var(--m)", "0px", "0px", "0px")));
+    }
+
+    @Test
+    void importantLonghandIsNotCollapsed() {
+        assertEquals(".x{margin-top:1px !important;margin-right:0px;margin-bottom:0px;margin-left:0px}",
+                optimized(margins("1px !important", "0px", "0px", "0px")));
+    }
+
+    @Test
+    void laterShorthandRemovesEarlierLonghands() {
+        assertEquals(".x{margin:0}", optimized(CssRule.rule(".x", margin_top("1px"), margin_left("2px"), margin("0"))));
+    }
+
+    @Test
+    void incompleteLonghandsAreNotCollapsed() {
+        assertEquals(".x{margin-top:1px;margin-right:2px;margin-bottom:3px}",
+                optimized(CssRule.rule(".x", margin_top("1px"), margin_right("2px"), margin_bottom("3px"))));
+    }
+
+    @Test
+    void completeLonghandsCollapseToTheShortestBox() {
+        assertEquals(".x{margin:1px 2px 3px}", optimized(margins("1px", "2px", "3px", "2px")));
+    }
+
+    @Test
+    void ruleIsNotMergedPastAConflictingRule() {
+        assertEquals(".a{margin-top:1px}.b{margin:0}.a{margin-left:2px}",
+                optimized(CssRule.rule(".a", margin_top("1px")), CssRule.rule(".b", margin("0")), CssRule.rule(".a", margin_left("2px"))));
+    }
+
+    @Test
+    void identicalBlocksAreGrouped() {
+        assertEquals(".a, .b{color:red}", optimized(CssRule.rule(".a", color("red")), CssRule.rule(".b", color("red"))));
+    }
+
+    @Test
+    void vendorPrefixedSelectorsAreNeverGrouped() {
+        assertEquals(".a::-webkit-scrollbar{display:none}.b{display:none}",
+                optimized(CssRule.rule(".a::-webkit-scrollbar", display("none")), CssRule.rule(".b", display("none"))));
+    }
+
+    @Test
+    void groupingKeepsCascadeOrder() {
+        assertEquals(".a{color:red}.b{color:blue}.c{color:red}",
+                optimized(CssRule.rule(".a", color("red")), CssRule.rule(".b", color("blue")), CssRule.rule(".c", color("red"))));
+        assertEquals(".a, .c{color:red}.b{display:flex}",
+                optimized(CssRule.rule(".a", color("red")), CssRule.rule(".b", display("flex")), CssRule.rule(".c", color("red"))));
+    }
+}
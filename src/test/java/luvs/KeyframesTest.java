@@ -0,0 +1,44 @@
+package luvs;
+
+import static luvs.Keyframes.*;
+import static luvs.P.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class KeyframesTest {
+
+    private static final Keyframes FADE_IN = keyframes("fade", frame("from", opacity(0)), frame("to", opacity(1)));
+    private static final Keyframes APPEAR = keyframes("appear", frame("from", opacity(0)), frame("to", opacity(1)));
+    private static final Keyframes FADE_OUT = keyframes("fade", frame("from", opacity(1)), frame("to", opacity(0)));
+
+    private static String compact(Object... items) {
+        return new CssRules(items).render(RenderOptions.COMPACT);
+    }
+
+    @Test
+    void identicalKeyframesAreKeptOnceAndReferencesRenamed() {
+        assertEquals("@keyframes fade{from{opacity:0}to{opacity:1}}.a{animation:fade 1s ease}",
+                compact(CssRule.rule(".a", prop("animation", "appear 1s ease")), FADE_IN, APPEAR));
+    }
+
+    @Test
+    void redefinedNamesAreNotMerged() {
+        assertEquals("@keyframes fade{from{opacity:0}to{opacity:1}}@keyframes appear{from{opacity:0}to{opacity:1}}"
+                        + "@keyframes fade{from{opacity:1}to{opacity:0}}.a{animation:appear 1s ease}",
+                compact(CssRule.rule(".a", prop("animation", "appear 1s ease")), FADE_IN, APPEAR, FADE_OUT));
+    }
+
+    @Test
+    void keywordsAndFunctionArgumentsAreNotRenamed() {
+        Keyframes ease = keyframes("ease", frame("from", opacity(0)), frame("to", opacity(1)));
+        assertEquals("@keyframes fade{from{opacity:0}to{opacity:1}}.a{animation:fade 1s ease steps(2, ease)}",
+                compact(CssRule.rule(".a", prop("animation", "fade 1s ease steps(2, ease)")), FADE_IN, ease));
+    }
+
+    @Test
+    void derivedStylesheetsKeepTheDeduplicatedKeyframes() {
+        CssRules styles = new CssRules(CssRule.rule(".a", prop("animation", "appear 1s")), FADE_IN, APPEAR);
+        assertEquals(styles.render(RenderOptions.COMPACT), styles.optimize().render(RenderOptions.COMPACT));
+    }
+}
@@ -0,0 +1,127 @@
+package luvs;
+
+import static luvs.CssRule.rule;
+import static luvs.P.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class RenderCacheTest {
+
+    private static CssRules sheet(String color) {
+        return new CssRules(rule(".a", color(color), display("flex")));
+    }
+
+    @Test
+    void concurrentMissesRenderOnce() throws Exception {
+        RenderCache<String> cache = new RenderCache<>(1024);
+        CssRules rules = sheet("red");
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.render("tenant", rules, RenderOptions.COMPACT);
+                }));
+            }
+            start.countDown();
+            String first = results.get(0).get();
+            for (Future<String> result : results) {
+                assertSame(first, result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, cache.misses());
+        assertEquals(7, cache.hits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void weightIsCountedInUtf8Bytes() {
+        RenderCache<String> cache = new RenderCache<>(1024);
+        String text = cache.render("tenant", new CssRules(rule(".a", prop("content", "\"\u00e9\u20ac\""))), RenderOptions.COMPACT);
+        assertEquals(text.getBytes(StandardCharsets.UTF_8).length, cache.weightedSize());
+        assertEquals(text.length() + 3, cache.weightedSize());
+    }
+
+    @Test
+    void leastFrequentlyUsedEntriesAreEvicted() {
+        RenderCache<String> cache = new RenderCache<>(100);
+        String[] colors = {"red", "blue", "green", "black", "white", "gray"};
+        cache.render("hot", sheet("orange"), RenderOptions.COMPACT);
+        for (String color : colors) {
+            cache.render("hot", sheet("orange"), RenderOptions.COMPACT);
+            cache.render(color, sheet(color), RenderOptions.COMPACT);
+        }
+        assertTrue(cache.evictions() > 0);
+        assertTrue(cache.weightedSize() <= 100, "weight " + cache.weightedSize());
+        long misses = cache.misses();
+        cache.render("hot", sheet("orange"), RenderOptions.COMPACT);
+        assertEquals(misses, cache.misses());
+    }
+
+    @Test
+    void waitersGetTheRenderFailure() throws Exception {
+        RenderCache<String> cache = new RenderCache<>(1024);
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        CharSequence failing = new CharSequence() {
+            @Override
+            public String toString() {
+                rendering.countDown();
+                try {
+                    fail.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("broken theme");
+            }
+
+            @Override
+            public int length() {
+                return toString().length();
+            }
+
+            @Override
+            public char charAt(int index) {
+                return toString().charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return toString().subSequence(start, end);
+            }
+        };
+        CssRules rules = new CssRules(rule(".a", color(failing)));
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> renderer = pool.submit(() -> cache.render("tenant", rules, RenderOptions.COMPACT));
+            rendering.await();
+            Future<String> waiter = pool.submit(() -> cache.render("tenant", rules, RenderOptions.COMPACT));
+            while (cache.hits() == 0) {
+                Thread.sleep(1);
+            }
+            fail.countDown();
+            for (Future<String> result : List.of(renderer, waiter)) {
+                Exception e = assertThrows(Exception.class, result::get);
+                assertEquals(IllegalStateException.class, e.getCause().getClass());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(0, cache.size());
+    }
+}